@@ -0,0 +1,79 @@
+package br.com.cbd.gestor_clientes.cache;
+
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.feed.ClienteAlteradoEvent;
+import br.com.cbd.gestor_clientes.feed.TipoAlteracao;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// Cache de leitura na frente do ClienteRepository: ClienteDTO por id.
+// A unicidade de CPF/email não passa pelo cache: quem garante são as constraints UNIQUE, no próprio INSERT/UPDATE.
+// O backend vem do CacheManager configurado em spring.cache.* (caffeine por padrão, redis como opção).
+// Uma entrada só é trocada por outra de versão maior: uma leitura que pegou a linha antes de uma atualização
+// concorrente não sobrescreve o estado novo, e eventos que chegam fora de ordem não voltam a versão.
+@Component
+public class ClienteCache {
+
+    public static final String CLIENTES = "clientes";
+
+    private final Cache clientes;
+
+    public ClienteCache(CacheManager cacheManager) {
+        this.clientes = obter(cacheManager, CLIENTES);
+    }
+
+    public ClienteDTO buscar(Long id, Supplier<ClienteDTO> carregar) {
+        Cache.ValueWrapper valor = clientes.get(id);
+        if (valor != null && valor.get() != null) {
+            return (ClienteDTO) valor.get();
+        }
+        ClienteDTO dto = carregar.get();
+        guardar(dto);
+        return dto;
+    }
+
+    // Só depois do commit (ou na hora, quando publicado fora de transação): rollback não chega ao cache.
+    // Cliente criado não é guardado: ainda não está no cache, e a primeira leitura o carrega (uma importação
+    // grande não expulsa os clientes mais lidos)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrar(ClienteAlteradoEvent evento) {
+        if (evento.tipo() != TipoAlteracao.CRIADO) {
+            guardar(evento.cliente());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void guardar(ClienteDTO dto) {
+        if (clientes.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            ((ConcurrentMap<Object, Object>) caffeine.asMap()).merge(dto.id(), dto,
+                    (atual, novo) -> maisRecente((ClienteDTO) atual, (ClienteDTO) novo));
+            return;
+        }
+        // Backends sem troca condicional (redis): putIfAbsent e, se havia uma versão anterior, put
+        Cache.ValueWrapper anterior = clientes.putIfAbsent(dto.id(), dto);
+        if (anterior != null && anterior.get() instanceof ClienteDTO atual && maisRecente(atual, dto) == dto) {
+            clientes.put(dto.id(), dto);
+        }
+    }
+
+    private static ClienteDTO maisRecente(ClienteDTO atual, ClienteDTO novo) {
+        return versao(novo) > versao(atual) ? novo : atual;
+    }
+
+    private static long versao(ClienteDTO dto) {
+        return dto.versao() != null ? dto.versao() : -1;
+    }
+
+    private static Cache obter(CacheManager cacheManager, String nome) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + nome + " não configurado em spring.cache.cache-names");
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.cbd.gestor_clientes.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Habilita a auto-configuração do CacheManager (spring.cache.*) usado por ClienteCache
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,54 @@
+package br.com.cbd.gestor_clientes.config;
+
+import br.com.cbd.gestor_clientes.observability.ObservedCborHttpMessageConverter;
+import br.com.cbd.gestor_clientes.observability.ObservedSmileHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.format.DateTimeFormatter;
+
+// Formatos da API: JSON com datas legíveis (dd/MM/yyyy e dd/MM/yyyy HH:mm:ss) para todos os DTOs, e CBOR/Smile
+// escolhidos pelo Accept para chamadores internos, com as datas como números (sem formatar nem interpretar texto)
+@Configuration
+public class JacksonConfig {
+
+    public static final String DATA = "dd/MM/yyyy";
+    public static final String DATA_HORA = "dd/MM/yyyy HH:mm:ss";
+
+    // Só no ObjectMapper do Spring Boot (JSON); os binários abaixo não passam por este customizer
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer datasLegiveisNoJson() {
+        DateTimeFormatter data = DateTimeFormatter.ofPattern(DATA);
+        DateTimeFormatter dataHora = DateTimeFormatter.ofPattern(DATA_HORA);
+        return builder -> builder
+                .serializers(new LocalDateSerializer(data), new LocalDateTimeSerializer(dataHora))
+                .deserializers(new LocalDateDeserializer(data), new LocalDateTimeDeserializer(dataHora));
+    }
+
+    // Substituem os conversores CBOR/Smile padrão do Spring MVC
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObservationRegistry observationRegistry) {
+        return new ObservedCborHttpMessageConverter(binario(Jackson2ObjectMapperBuilder.cbor()), observationRegistry);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObservationRegistry observationRegistry) {
+        return new ObservedSmileHttpMessageConverter(binario(Jackson2ObjectMapperBuilder.smile()), observationRegistry);
+    }
+
+    // LocalDateTime como [ano, mês, dia, hora, minuto, segundo, nanos], lido de volta pelo JavaTimeModule
+    private static ObjectMapper binario(Jackson2ObjectMapperBuilder builder) {
+        return builder.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.cbd.gestor_clientes.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+// Os post-processors que envolvem o DataSource precisam de ordem fixa: limite de conexões por dentro, réplicas por fora
+interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+}
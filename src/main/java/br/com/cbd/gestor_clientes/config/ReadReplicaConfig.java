@@ -0,0 +1,107 @@
+package br.com.cbd.gestor_clientes.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Leituras nas réplicas: o DataSource principal passa a ser um LazyConnectionDataSourceProxy, que só pega a conexão
+// física no primeiro comando. Nesse momento uma transação @Transactional(readOnly = true) já marcou a conexão como
+// somente leitura, e ela vem do ReplicaRoutingDataSource; as demais transações e o JDBC fora de transação ficam no
+// primário. Sem gestor.datasource.replicas.urls tudo vai para o primário, e o proxy só adia a conexão (uma leitura
+// atendida pelo cache não chega a ocupar o pool).
+@Configuration
+public class ReadReplicaConfig {
+
+    private static final String URLS = "gestor.datasource.replicas.urls";
+
+    @Bean
+    public static BeanPostProcessor readReplicaDataSourcePostProcessor(Environment environment,
+                                                                       ObjectProvider<ReplicaPools> replicas) {
+        boolean comReplicas = environment.containsProperty(URLS);
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primario)) {
+                    return bean;
+                }
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+                if (comReplicas) {
+                    proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primario, replicas::getObject));
+                }
+                return proxy;
+            }
+
+            // Depois do GatedDataSource (threads virtuais), que precisa ver o HikariDataSource
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        };
+    }
+
+    // Um pool Hikari por URL, com o mesmo usuário e senha do primário salvo indicação em contrário
+    @Bean
+    @ConditionalOnProperty(URLS)
+    public ReplicaPools replicaPools(Environment environment, DataSourceProperties primario,
+                                     @Value("${" + URLS + "}") List<String> urls,
+                                     @Value("${gestor.datasource.replicas.tamanho-pool:10}") int tamanhoPool,
+                                     @Value("${gestor.datasource.replicas.espera-conexao:PT2S}") Duration esperaConexao) {
+        String usuario = environment.getProperty("gestor.datasource.replicas.username", primario.determineUsername());
+        String senha = environment.getProperty("gestor.datasource.replicas.password", primario.determinePassword());
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<DataSource> dataSources = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(usuario)
+                    .password(senha)
+                    .build();
+            pool.setPoolName("replica-" + (pools.size() + 1));
+            pool.setMaximumPoolSize(tamanhoPool);
+            pool.setConnectionTimeout(esperaConexao.toMillis());
+            pool.setReadOnly(true);
+            pool.setInitializationFailTimeout(-1); // Sobe mesmo com a réplica fora do ar: as leituras ficam no primário
+            pools.add(pool);
+            dataSources.add(Threading.VIRTUAL.isActive(environment) ? VirtualThreadConfig.limitar(pool, environment) : pool);
+        }
+        return new ReplicaPools(pools, dataSources);
+    }
+
+    @Bean
+    @ConditionalOnProperty(URLS)
+    public WebMvcConfigurer readYourWritesConfigurer(
+            @Value("${gestor.datasource.replicas.leitura-propria:PT5S}") Duration janela) {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(janela);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+
+            // Leva a decisão para a thread que escreve os corpos em streaming (/clientes/stream, /clientes/export)
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(interceptor);
+            }
+        };
+    }
+}
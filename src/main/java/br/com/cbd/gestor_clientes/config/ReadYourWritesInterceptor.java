@@ -0,0 +1,116 @@
+package br.com.cbd.gestor_clientes.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+// Leitura das próprias gravações com réplicas: uma requisição de escrita (POST, PUT, PATCH, DELETE) devolve o cookie
+// gestor-leitura-primaria, válido por gestor.datasource.replicas.leitura-propria. Enquanto o cliente reenviar o
+// cookie, e durante a própria escrita, as transações somente leitura da requisição vão para o primário, que já
+// tem o que foi gravado mesmo que as réplicas ainda não tenham recebido.
+// A decisão fica num atributo da requisição; o ThreadLocal só vale enquanto uma thread trabalha para ela: a do
+// Tomcat até o handler terminar (ou começar o processamento assíncrono) e, nos corpos em streaming
+// (StreamingResponseBody), a thread do executor assíncrono do MVC que escreve a resposta.
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    public static final String COOKIE = "gestor-leitura-primaria";
+
+    static final String ATRIBUTO = ReadYourWritesInterceptor.class.getName() + ".primario";
+
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private final Duration janela;
+
+    public ReadYourWritesInterceptor(Duration janela) {
+        this.janela = janela;
+    }
+
+    public static boolean lerDoPrimario() {
+        return PRIMARIO.get() != null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // No redespacho assíncrono a decisão já foi tomada (e o cookie já foi enviado)
+        Boolean primario = (Boolean) request.getAttribute(ATRIBUTO);
+        if (primario == null) {
+            primario = decidir(request, response);
+            request.setAttribute(ATRIBUTO, primario);
+        }
+        if (primario) {
+            PRIMARIO.set(Boolean.TRUE);
+        }
+        return true;
+    }
+
+    // Chamado no lugar de afterCompletion quando o handler devolve um corpo assíncrono: a thread volta ao pool
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        PRIMARIO.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        PRIMARIO.remove();
+    }
+
+    // Na thread do executor assíncrono, antes e depois de escrever o corpo
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (Boolean.TRUE.equals(request.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST))) {
+            PRIMARIO.set(Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        PRIMARIO.remove();
+    }
+
+    private boolean decidir(HttpServletRequest request, HttpServletResponse response) {
+        if (escrita(request.getMethod())) {
+            long ate = System.currentTimeMillis() + janela.toMillis();
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(ate))
+                    .maxAge(janela)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            return true;
+        }
+        return dentroDaJanela(request);
+    }
+
+    private static boolean escrita(String metodo) {
+        return switch (metodo) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    // O valor é o instante de expiração: vale mesmo para clientes que não respeitam o Max-Age
+    private static boolean dentroDaJanela(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return false;
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.cbd.gestor_clientes.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// Pools das réplicas de leitura (gestor.datasource.replicas.urls), usados em rodízio. Uma réplica que falha ao
+// entregar conexão sai do rodízio até a próxima verificação bem-sucedida (gestor.datasource.replicas.verificacao);
+// sem nenhuma réplica saudável, a leitura vai para o primário.
+public class ReplicaPools implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPools.class);
+
+    private static final int VALIDACAO_SEGUNDOS = 2;
+
+    private record Replica(HikariDataSource pool, DataSource dataSource, AtomicBoolean saudavel) {
+    }
+
+    private final List<Replica> replicas;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    // dataSources: o pool de cada réplica já envolvido (GatedDataSource com threads virtuais), na mesma ordem de pools
+    public ReplicaPools(List<HikariDataSource> pools, List<DataSource> dataSources) {
+        this.replicas = IntStream.range(0, pools.size())
+                .mapToObj(i -> new Replica(pools.get(i), dataSources.get(i), new AtomicBoolean(true)))
+                .toList();
+    }
+
+    // Conexão da próxima réplica saudável ou, sem nenhuma, do primário
+    public Connection conexao(DataSource primario) throws SQLException {
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (!replica.saudavel().get()) continue;
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                if (replica.saudavel().compareAndSet(true, false)) {
+                    log.warn("Réplica {} indisponível, leituras seguem pelas demais ou pelo primário: {}",
+                            replica.pool().getPoolName(), e.getMessage());
+                }
+            }
+        }
+        return primario.getConnection();
+    }
+
+    public boolean isSaudavel(int indice) {
+        return replicas.get(indice).saudavel().get();
+    }
+
+    // Devolve ao rodízio as réplicas que voltaram a responder e tira as que pararam
+    @Scheduled(fixedDelayString = "${gestor.datasource.replicas.verificacao:PT5S}",
+            initialDelayString = "${gestor.datasource.replicas.verificacao:PT5S}")
+    public void verificar() {
+        for (Replica replica : replicas) {
+            boolean saudavel;
+            try (Connection conexao = replica.pool().getConnection()) {
+                saudavel = conexao.isValid(VALIDACAO_SEGUNDOS);
+            } catch (SQLException e) {
+                saudavel = false;
+            }
+            if (replica.saudavel().getAndSet(saudavel) != saudavel) {
+                log.info("Réplica {} {}", replica.pool().getPoolName(), saudavel ? "de volta ao rodízio de leituras" : "fora do rodízio de leituras");
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool().close());
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.cbd.gestor_clientes.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+// Destino das conexões somente leitura (LazyConnectionDataSourceProxy.setReadOnlyDataSource): réplica saudável em
+// rodízio, ou o primário quando a requisição precisa ler as próprias gravações (ReadYourWritesInterceptor)
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primario;
+    private final Supplier<ReplicaPools> replicas;
+
+    // replicas resolvido na primeira leitura: o bean não é criado junto com o DataSource principal
+    public ReplicaRoutingDataSource(DataSource primario, Supplier<ReplicaPools> replicas) {
+        this.primario = primario;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWritesInterceptor.lerDoPrimario()) {
+            return primario.getConnection();
+        }
+        return replicas.get().conexao(primario);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primario.getConnection(username, password);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.cbd.gestor_clientes.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita as tarefas @Scheduled (reconciliação do ClienteStats com o banco)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
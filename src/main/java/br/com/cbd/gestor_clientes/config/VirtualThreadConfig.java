@@ -0,0 +1,50 @@
+package br.com.cbd.gestor_clientes.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Modo de threads virtuais (spring.threads.virtual.enabled=true): o Tomcat atende cada requisição numa
+// thread virtual e o pool Hikari fica atrás de um GatedDataSource. O driver do PostgreSQL (42.6+) e o
+// Hikari (5.1+) usam locks em vez de synchronized, então o bloqueio no JDBC não prende a thread portadora.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor gatedDataSourcePostProcessor(Environment environment) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                return limitar(hikari, environment);
+            }
+
+            // Antes do ReadReplicaConfig, que envolve o DataSource já limitado
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+        };
+    }
+
+    // Também usado nos pools das réplicas de leitura: um semáforo por pool
+    static DataSource limitar(HikariDataSource hikari, Environment environment) {
+        // Padrão: uma permissão por conexão do pool e a mesma espera máxima do Hikari
+        int permissoes = environment.getProperty("gestor.datasource.gate.permissoes", Integer.class,
+                hikari.getMaximumPoolSize());
+        Duration esperaMaxima = environment.getProperty("gestor.datasource.gate.espera-maxima", Duration.class,
+                Duration.ofMillis(hikari.getConnectionTimeout()));
+        return new GatedDataSource(hikari, permissoes, esperaMaxima);
+    }
+}
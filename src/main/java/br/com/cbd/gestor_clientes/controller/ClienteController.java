@@ -1,9 +1,26 @@
 package br.com.cbd.gestor_clientes.controller;
 
+import br.com.cbd.gestor_clientes.dto.AlteracaoStatusLoteDTO;
+import br.com.cbd.gestor_clientes.dto.AlteracoesDTO;
 import br.com.cbd.gestor_clientes.dto.ClienteDTO;
 import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
+import br.com.cbd.gestor_clientes.dto.EstatisticasClientesDTO;
+import br.com.cbd.gestor_clientes.dto.ImportacaoResultadoDTO;
+import br.com.cbd.gestor_clientes.dto.ResultadoStatusLoteDTO;
 import br.com.cbd.gestor_clientes.dto.UpdateClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.exception.ClienteNaoEncontradoException;
+import br.com.cbd.gestor_clientes.exception.ClienteValidacaoException;
+import br.com.cbd.gestor_clientes.exception.ClienteVersaoDivergenteException;
+import br.com.cbd.gestor_clientes.feed.ClienteChangeFeed;
+import br.com.cbd.gestor_clientes.observability.ClienteMetrics;
+import br.com.cbd.gestor_clientes.repository.FiltroClientes;
+import br.com.cbd.gestor_clientes.repository.ResumoClientes;
+import br.com.cbd.gestor_clientes.service.ClienteExportService;
+import br.com.cbd.gestor_clientes.service.ClienteImportService;
 import br.com.cbd.gestor_clientes.service.ClienteService;
+import br.com.cbd.gestor_clientes.service.ClienteStatusLoteService;
+import br.com.cbd.gestor_clientes.stats.ClienteStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -12,12 +29,31 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -26,9 +62,32 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ClienteController {
 
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
     @Autowired
     private ClienteService service;
 
+    @Autowired
+    private ClienteImportService importService;
+
+    @Autowired
+    private ClienteExportService exportService;
+
+    @Autowired
+    private ClienteStatusLoteService statusLoteService;
+
+    @Autowired
+    private ClienteChangeFeed changeFeed;
+
+    @Autowired
+    private ClienteStats stats;
+
+    @Autowired
+    private ClienteMetrics metrics;
+
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+
     @PostMapping
     @Operation(
             summary = "Criar um novo cliente",
@@ -36,86 +95,315 @@ public class ClienteController {
                     "O CPF deve ser válido e único, e o email também deve ser único. O telefone, se informado, deve seguir o formato +XX (XX) XXXXX-XXXX ou similar."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "201", description = "Cliente criado com sucesso", content = @Content(schema = @Schema(implementation = ClienteDTO.class))),
+            @ApiResponse(responseCode = "201", description = "Cliente criado com sucesso; o cabeçalho ETag traz a versão", content = @Content(schema = @Schema(implementation = ClienteDTO.class))),
             @ApiResponse(responseCode = "400", description = "Erro de validação: CPF inválido, email já existe, telefone inválido ou status inválido", content = @Content)
     })
     public ResponseEntity<ClienteDTO> create(
             @Parameter(description = "Dados do cliente a ser criado", required = true,
                     example = "{\"nome\": \"Maria Silva\", \"email\": \"maria@teste.com\", \"telefone\": \"+55 (11) 98889-7789\", \"cpf\": \"111.444.777-35\", \"status\": \"ATIVO\"}")
-            @Valid @RequestBody CreateClienteDTO dto) {
-        return new ResponseEntity<>(service.create(dto), HttpStatus.CREATED);
+            @Valid @RequestBody CreateClienteDTO dto,
+            NativeWebRequest request) {
+        ClienteDTO criado = service.create(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(etag(criado, request)).body(criado);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Importar clientes em lote",
+            description = "Importa clientes a partir de um CSV com cabeçalho (nome,email,telefone,cpf,status) ou de NDJSON (um objeto por linha). " +
+                    "O arquivo é lido em streaming e processado em blocos: cada bloco é validado com as mesmas regras do cadastro, " +
+                    "a unicidade de CPF/email é checada com uma consulta por bloco e os registros são gravados com INSERTs em lote. " +
+                    "Linhas inválidas não interrompem a importação e aparecem no relatório de erros."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Relatório da importação", content = @Content(schema = @Schema(implementation = ImportacaoResultadoDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio ou cabeçalho CSV sem as colunas obrigatórias", content = @Content)
+    })
+    public ResponseEntity<ImportacaoResultadoDTO> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Arquivo CSV ou NDJSON", required = true)
+            InputStream body) throws IOException {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return ResponseEntity.ok(importService.importarNdjson(body));
+        }
+        return ResponseEntity.ok(importService.importarCsv(body));
     }
 
     @GetMapping("/{id}")
     @Operation(
             summary = "Buscar cliente por ID",
-            description = "Retorna os detalhes de um cliente específico pelo seu ID, incluindo nome, email, CPF, telefone, status e datas de criação/atualização."
+            description = "Retorna os detalhes de um cliente específico pelo seu ID, incluindo nome, email, CPF, telefone, status e datas de criação/atualização. " +
+                    "Com If-None-Match (ETag) ou If-Modified-Since de uma resposta anterior, responde 304 sem corpo se o cliente não mudou."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Cliente encontrado", content = @Content(schema = @Schema(implementation = ClienteDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Cliente encontrado; o cabeçalho ETag traz a versão", content = @Content(schema = @Schema(implementation = ClienteDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Cliente não mudou desde a ETag/data informada", content = @Content),
             @ApiResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content)
     })
     public ResponseEntity<ClienteDTO> findById(
             @Parameter(description = "ID do cliente", required = true, example = "1")
-            @PathVariable Long id) {
-        return ResponseEntity.ok(service.findById(id));
+            @PathVariable Long id,
+            NativeWebRequest request) {
+        ClienteDTO cliente = service.findById(id);
+        if (request.checkNotModified(etag(cliente, request), epochMillis(cliente.atualizadoEm()))) {
+            return naoModificado();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(cliente);
     }
 
     @GetMapping
     @Operation(
             summary = "Listar clientes",
-            description = "Retorna uma lista de clientes com filtros opcionais por status (ATIVO, INATIVO, PROSPECT) e/ou nome (busca parcial, case-insensitive). " +
-                    "Se nenhum filtro for fornecido, retorna todos os clientes, ordenados por ID em ordem crescente."
+            description = "Retorna uma lista de clientes com filtros opcionais por status (ATIVO, INATIVO, PROSPECT) e/ou nome. " +
+                    "Se nenhum filtro for fornecido, retorna todos os clientes, ordenados por ID em ordem crescente. " +
+                    "Com nome, a busca ignora acentos e maiúsculas, tolera pequenas diferenças de grafia e retorna até limit clientes " +
+                    "ordenados do mais para o menos similar. " +
+                    "Com afterId e/ou limit, retorna uma página por chave: até limit clientes com ID maior que afterId. " +
+                    "Quando a página vem cheia, o cabeçalho X-Next-After-Id traz o valor de afterId da próxima página. " +
+                    "A ETag da lista vem da quantidade e da última alteração dos clientes do filtro: com If-None-Match " +
+                    "de uma resposta anterior, responde 304 sem consultar a lista se nada mudou. A lista não traz Last-Modified."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lista de clientes retornada com sucesso", content = @Content(schema = @Schema(implementation = ClienteDTO.class), array = @ArraySchema)),
-            @ApiResponse(responseCode = "400", description = "Status inválido informado no filtro", content = @Content)
+            @ApiResponse(responseCode = "304", description = "Nenhum cliente do filtro mudou desde a ETag informada", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Status inválido informado no filtro ou limite fora do intervalo", content = @Content)
     })
     public ResponseEntity<List<ClienteDTO>> findAll(
+            @Parameter(description = "Filtro por status (ATIVO, INATIVO, PROSPECT)", example = "ATIVO")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Busca por nome (parcial, sem diferenciar acentos e maiúsculas, ordenada por similaridade)", example = "Joao")
+            @RequestParam(required = false) String nome,
+            @Parameter(description = "Retorna apenas clientes com ID maior que este valor (não se aplica à busca por nome)", example = "100")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Tamanho máximo da página (1 a 1000, padrão 100)", example = "100")
+            @RequestParam(required = false) Integer limit,
+            NativeWebRequest request) {
+        StatusCliente filtro = StatusCliente.filtro(status);
+        // Validador barato (count + max por índice) antes de ler a lista: sem mudança, nenhuma linha é carregada
+        ResumoClientes resumo = service.resumo(filtro);
+        String etag = etagLista(resumo, representacao(request), status, nome, afterId, limit);
+        // Só a ETag: max(atualizado_em) não muda quando um cliente sai do filtro, nem numa escrita no mesmo segundo
+        // da resposta anterior (If-Modified-Since tem precisão de segundos), e o 304 sairia com a lista velha
+        if (request.checkNotModified(etag)) {
+            return naoModificado();
+        }
+        if (afterId == null && limit == null) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(service.findAll(filtro, nome));
+        }
+        List<ClienteDTO> pagina = service.findPage(filtro, nome, afterId, limit);
+        int tamanho = limit != null ? limit : ClienteService.LIMITE_PADRAO;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
+        if (nome == null && pagina.size() == tamanho) {
+            response.header("X-Next-After-Id", String.valueOf(pagina.get(pagina.size() - 1).id()));
+        }
+        return response.body(pagina);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Listar clientes em streaming (NDJSON)",
+            description = "Escreve todos os clientes que atendem aos filtros, um JSON por linha, lidos de um cursor no banco. " +
+                    "O consumo de memória não depende do tamanho da tabela."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Clientes em NDJSON, ordenados por ID", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    })
+    public ResponseEntity<StreamingResponseBody> stream(
             @Parameter(description = "Filtro por status (ATIVO, INATIVO, PROSPECT)", example = "ATIVO")
             @RequestParam(required = false) String status,
             @Parameter(description = "Filtro por nome (parcial, case-insensitive)", example = "Maria")
             @RequestParam(required = false) String nome) {
-        return ResponseEntity.ok(service.findAll(status, nome));
+        StatusCliente filtro = StatusCliente.filtro(status);
+        StreamingResponseBody body = out -> service.streamAll(filtro, nome, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    @Operation(
+            summary = "Exportar clientes em CSV (streaming, gzip)",
+            description = "Escreve os clientes que atendem aos filtros em CSV (id,nome,email,telefone,cpf,status,criadoEm,atualizadoEm,versao), " +
+                    "ordenados por ID, lidos de um cursor no banco numa transação somente leitura. Datas em ISO-8601. " +
+                    "Com Accept-Encoding: gzip a resposta vem compactada (Content-Encoding: gzip). O consumo de memória não depende do tamanho da tabela."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Clientes em CSV", content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Status ou data inválidos", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Filtro por status (ATIVO, INATIVO, PROSPECT)", example = "ATIVO")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Filtro por nome (parcial, case-insensitive)", example = "Maria")
+            @RequestParam(required = false) String nome,
+            @Parameter(description = "Criados a partir deste dia (inclusive)", example = "01/01/2024")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate criadoDe,
+            @Parameter(description = "Criados até este dia (inclusive)", example = "31/12/2024")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate criadoAte,
+            @Parameter(description = "Alterados a partir deste dia (inclusive)", example = "01/08/2025")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate atualizadoDe,
+            @Parameter(description = "Alterados até este dia (inclusive)", example = "31/08/2025")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate atualizadoAte,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        FiltroClientes filtro = FiltroClientes.porDias(StatusCliente.filtro(status), nome, criadoDe, criadoAte, atualizadoDe, atualizadoAte);
+        boolean gzip = aceitaGzip(acceptEncoding);
+        StreamingResponseBody body = out -> exportService.exportarCsv(filtro, gzip, out);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clientes.csv\"")
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Estatísticas de clientes",
+            description = "Retorna o total de clientes, a quantidade por status e os clientes criados por dia nos últimos dias, " +
+                    "a partir de contadores em memória (sem consultar a tabela). Os contadores são atualizados a cada gravação " +
+                    "e conferidos com o banco periodicamente."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estatísticas", content = @Content(schema = @Schema(implementation = EstatisticasClientesDTO.class))),
+            @ApiResponse(responseCode = "400", description = "dias fora do intervalo", content = @Content)
+    })
+    public ResponseEntity<EstatisticasClientesDTO> stats(
+            @Parameter(description = "Quantidade de dias de criações, terminando hoje (1 a 90, padrão 30)", example = "30")
+            @RequestParam(required = false) Integer dias) {
+        return ResponseEntity.ok(stats.estatisticas(dias));
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Alterações de clientes desde um cursor",
+            description = "Retorna os clientes criados, atualizados ou inativados depois do cursor, da alteração mais antiga para a mais recente, " +
+                    "e o cursor para a próxima chamada. Sem cursor, começa do primeiro cliente (carga inicial paginada). " +
+                    "Uma alteração pode vir repetida; aplique pelo id do cliente."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Alterações e próximo cursor", content = @Content(schema = @Schema(implementation = AlteracoesDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido ou limite fora do intervalo", content = @Content)
+    })
+    public ResponseEntity<AlteracoesDTO> changes(
+            @Parameter(description = "Cursor retornado pela chamada anterior (ou id de um evento do stream)")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Quantidade máxima de alterações (1 a 1000, padrão 100)", example = "500")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(changeFeed.desde(since, limit));
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream de alterações de clientes (Server-Sent Events)",
+            description = "Envia as alterações depois do cursor e, em seguida, cada nova criação, atualização ou inativação. " +
+                    "Cada evento tem o tipo da alteração como nome e o cursor como id; ao reconectar, o cursor vem de since ou do cabeçalho Last-Event-ID."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Eventos CRIADO, ATUALIZADO e INATIVADO com AlteracaoClienteDTO", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
+    })
+    public SseEmitter changesStream(
+            @Parameter(description = "Cursor a partir do qual enviar (sem cursor: só as alterações novas)")
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.assinar(since != null ? since : lastEventId);
     }
 
     @PutMapping("/{id}")
     @Operation(
             summary = "Atualizar cliente existente",
             description = "Atualiza os dados de um cliente (nome, email, telefone, status). O CPF não pode ser alterado, e o email deve permanecer único. " +
-                    "O status deve ser ATIVO, INATIVO ou PROSPECT."
+                    "O status deve ser ATIVO, INATIVO ou PROSPECT. Com If-Match (ETag do GET), só atualiza se o cliente ainda estiver nessa versão."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Cliente atualizado com sucesso", content = @Content(schema = @Schema(implementation = ClienteDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Cliente atualizado com sucesso; o cabeçalho ETag traz a nova versão", content = @Content(schema = @Schema(implementation = ClienteDTO.class))),
             @ApiResponse(responseCode = "400", description = "Erro de validação: email duplicado, telefone inválido ou status inválido", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Outra requisição alterou o cliente ao mesmo tempo", content = @Content),
+            @ApiResponse(responseCode = "412", description = "A versão em If-Match não é mais a atual", content = @Content)
     })
     public ResponseEntity<ClienteDTO> update(
             @Parameter(description = "ID do cliente", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "Dados atualizados do cliente", required = true,
                     example = "{\"nome\": \"Maria Silva\", \"email\": \"maria.nova@teste.com\", \"telefone\": \"+55 (11) 97777-8888\", \"status\": \"PROSPECT\"}")
-            @Valid @RequestBody UpdateClienteDTO dto) {
-        return ResponseEntity.ok(service.update(id, dto));
+            @Valid @RequestBody UpdateClienteDTO dto,
+            @Parameter(description = "ETag do cliente obtida no GET (ex.: \"3\")")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            NativeWebRequest request) {
+        ClienteDTO atualizado = service.update(id, dto, versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(etag(atualizado, request)).body(atualizado);
     }
 
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Inativar cliente (exclusão lógica)",
             description = "Marca um cliente como INATIVO, realizando uma exclusão lógica. Não remove o registro do banco de dados. " +
-                    "Se o cliente já estiver inativo, retorna um erro. O status é alterado para INATIVO e a data de atualização é registrada."
+                    "Se o cliente já estiver inativo, retorna um erro. O status é alterado para INATIVO e a data de atualização é registrada. " +
+                    "Com If-Match (ETag do GET), só inativa se o cliente ainda estiver nessa versão."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Cliente inativado com sucesso", content = @Content),
             @ApiResponse(responseCode = "400", description = "Cliente já está inativo", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Outra requisição alterou o cliente ao mesmo tempo", content = @Content),
+            @ApiResponse(responseCode = "412", description = "A versão em If-Match não é mais a atual", content = @Content)
     })
     public ResponseEntity<Void> delete(
             @Parameter(description = "ID do cliente a ser inativado", required = true, example = "1")
-            @PathVariable Long id) {
-        service.delete(id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag do cliente obtida no GET (ex.: \"3\")")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.delete(id, versaoEsperada(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    @PatchMapping("/status")
+    @Operation(
+            summary = "Alterar o status de clientes em lote",
+            description = "Altera o status (ex.: inativação ou reativação em massa) dos clientes informados em ids ou selecionados por filtro " +
+                    "(status, trecho do nome e intervalo de criação). Os clientes são alterados em blocos, cada um numa transação curta com um " +
+                    "UPDATE em conjunto. Clientes que já estão no novo status são ignorados e relatados, assim como ids inexistentes. " +
+                    "Seleções maiores que um bloco são processadas em segundo plano: a resposta 202 traz o id do processamento."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Alteração concluída", content = @Content(schema = @Schema(implementation = ResultadoStatusLoteDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Alteração em andamento; acompanhe pelo cabeçalho Location", content = @Content(schema = @Schema(implementation = ResultadoStatusLoteDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Status inválido, ids e filtro juntos (ou nenhum dos dois) ou filtro sem critério", content = @Content)
+    })
+    public ResponseEntity<ResultadoStatusLoteDTO> alterarStatus(
+            @Parameter(description = "Novo status e os clientes (ids ou filtro)", required = true,
+                    example = "{\"status\": \"INATIVO\", \"filtro\": {\"status\": \"PROSPECT\", \"criadoAte\": \"31/12/2023\"}}")
+            @Valid @RequestBody AlteracaoStatusLoteDTO dto) {
+        ResultadoStatusLoteDTO resultado = statusLoteService.alterar(dto);
+        if (resultado.situacao() == ResultadoStatusLoteDTO.Situacao.EM_ANDAMENTO) {
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/clientes/status/jobs/{id}").buildAndExpand(resultado.id()).toUri())
+                    .body(resultado);
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
+    @GetMapping("/status/jobs/{id}")
+    @Operation(
+            summary = "Progresso de uma alteração de status em lote",
+            description = "Retorna a situação e os contadores de uma alteração em lote processada em segundo plano. " +
+                    "Processamentos concluídos ficam disponíveis por gestor.status-lote.retencao (padrão 1 hora)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Progresso do processamento", content = @Content(schema = @Schema(implementation = ResultadoStatusLoteDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Processamento não encontrado", content = @Content)
+    })
+    public ResponseEntity<ResultadoStatusLoteDTO> progressoStatus(
+            @Parameter(description = "ID do processamento", required = true)
+            @PathVariable String id) {
+        return statusLoteService.consultar(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Operation(
             summary = "Validar CPF",
             description = "Verifica se um CPF é válido em formato (não verifica existência real)."
@@ -131,15 +419,151 @@ public class ClienteController {
         return ResponseEntity.ok(valido ? "Válido" : "Inválido");
     }
 
-    @ExceptionHandler(IllegalArgumentException.class)
+    @Operation(
+            summary = "Validar CPFs em lote",
+            description = "Recebe um array JSON de CPFs (ex.: [\"111.444.777-35\", \"123\"]) e devolve, em streaming, " +
+                    "um array com o resultado de cada item na mesma ordem: [{\"cpf\": \"111.444.777-35\", \"valido\": true}, ...]."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resultado por CPF", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+            @ApiResponse(responseCode = "400", description = "O corpo não é um array JSON", content = @Content)
+    })
+    @PostMapping(value = "/validate-cpf/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public void validateCpfBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Array JSON de CPFs", required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(type = "string", example = "111.444.777-35"))))
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        service.validarCpfs(body, response.getOutputStream());
+    }
+
+    // ETag forte com a versão do cliente (ClienteDTO.versao): "3" em JSON, "3-cbor" e "3-smile" nos formatos binários,
+    // porque cada representação tem outros bytes e uma ETag forte não pode valer para as três
+    private String etag(ClienteDTO cliente, NativeWebRequest request) {
+        String representacao = representacao(request);
+        return "\"" + cliente.versao() + (representacao.isEmpty() ? "" : "-" + representacao) + "\"";
+    }
+
+    // ETag de uma listagem: o resumo do filtro, a representação e os parâmetros que decidem quais clientes entram na resposta
+    private static String etagLista(ResumoClientes resumo, Object... parametros) {
+        StringBuilder chave = new StringBuilder().append(resumo.total()).append('|').append(resumo.ultimaAlteracao());
+        for (Object parametro : parametros) {
+            chave.append('|').append(parametro);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(chave.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Last-Modified em milissegundos (-1 = sem data); atualizado_em é gravado no fuso da JVM
+    private static long epochMillis(LocalDateTime data) {
+        return data != null ? data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    // Formato que o Accept escolhe entre os conversores de ClienteDTO ("" = JSON), na ordem de qualidade e especificidade
+    // do próprio Spring; Accept inválido fica com JSON aqui e responde 406 na escrita do corpo
+    private String representacao(NativeWebRequest request) {
+        try {
+            for (MediaType aceito : contentNegotiationManager.resolveMediaTypes(request)) {
+                if (aceito.isCompatibleWith(MediaType.APPLICATION_JSON)) return "";
+                if (aceito.isCompatibleWith(MediaType.APPLICATION_CBOR)) return "cbor";
+                if (aceito.isCompatibleWith(SMILE)) return "smile";
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Cai no JSON abaixo
+        }
+        return "";
+    }
+
+    // checkNotModified já gravou status 304, ETag e Last-Modified (só no cliente); no-cache faz o navegador revalidar a cada uso
+    // e Vary: Accept (também nas respostas 200) separa nos caches as representações JSON, CBOR e Smile
+    private static <T> ResponseEntity<T> naoModificado() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    // Accept-Encoding com gzip (ou x-gzip, ou * sem gzip listado) de qualidade maior que zero: "gzip;q=0" recusa,
+    // e nomes que só contêm "gzip" não contam
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double qualquer = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].trim().toLowerCase();
+            double qualidade = 1;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.length() > 2 && parametro.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        qualidade = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        qualidade = 0;
+                    }
+                }
+            }
+            if (codificacao.equals("gzip") || codificacao.equals("x-gzip")) {
+                gzip = gzip == null ? qualidade : Math.max(gzip, qualidade);
+            } else if (codificacao.equals("*")) {
+                qualquer = qualidade;
+            }
+        }
+        Double qualidade = gzip != null ? gzip : qualquer;
+        return qualidade != null && qualidade > 0;
+    }
+
+    // If-Match com a ETag de um cliente em qualquer representação ("3", "3-cbor", "3-smile"); ausente ou "*" = sem pré-condição
+    private static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String valor = ifMatch.trim();
+        if (valor.length() > 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            String versao = valor.substring(1, valor.length() - 1);
+            int sufixo = versao.indexOf('-', 1);
+            try {
+                return Long.parseLong(sufixo > 0 ? versao.substring(0, sufixo) : versao);
+            } catch (NumberFormatException e) {
+                // Cai no erro abaixo
+            }
+        }
+        throw new IllegalArgumentException("If-Match deve trazer a ETag do cliente, ex.: \"3\"");
+    }
+
+    @ExceptionHandler(ClienteNaoEncontradoException.class)
     @ApiResponses({
-            @ApiResponse(responseCode = "400", description = "Erro de validação ou cliente já inativo", content = @Content),
             @ApiResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content)
     })
+    public ResponseEntity<String> handleClienteNaoEncontrado(ClienteNaoEncontradoException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ClienteValidacaoException.class)
+    @ApiResponses({
+            @ApiResponse(responseCode = "400", description = "Erro de validação ou cliente já inativo", content = @Content)
+    })
+    public ResponseEntity<String> handleClienteValidacao(ClienteValidacaoException ex) {
+        ex.getMotivos().forEach(motivo -> metrics.falhaValidacao(motivo, ClienteMetrics.ORIGEM_API));
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ClienteVersaoDivergenteException.class)
+    @ApiResponses({
+            @ApiResponse(responseCode = "412", description = "A versão em If-Match não é mais a atual", content = @Content)
+    })
+    public ResponseEntity<String> handleClienteVersaoDivergente(ClienteVersaoDivergenteException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    @ApiResponses({
+            @ApiResponse(responseCode = "409", description = "Outra requisição alterou o cliente ao mesmo tempo", content = @Content)
+    })
+    public ResponseEntity<String> handleConflitoDeVersao(ConcurrencyFailureException ex) {
+        return new ResponseEntity<>("O cliente foi alterado por outra requisição ao mesmo tempo; busque-o novamente e repita a alteração", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ApiResponses({
+            @ApiResponse(responseCode = "400", description = "Parâmetro inválido", content = @Content)
+    })
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
-        if (ex.getMessage().contains("não encontrado")) {
-            return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
-        }
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 }
@@ -0,0 +1,16 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import br.com.cbd.gestor_clientes.feed.TipoAlteracao;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record AlteracaoClienteDTO(
+        @Schema(description = "Cursor desta alteração; use em since (ou Last-Event-ID) para continuar depois dela")
+        String cursor,
+
+        @Schema(description = "Tipo da alteração", example = "CRIADO | ATUALIZADO | INATIVADO")
+        TipoAlteracao tipo,
+
+        @Schema(description = "Estado do cliente após a alteração")
+        ClienteDTO cliente
+) {
+}
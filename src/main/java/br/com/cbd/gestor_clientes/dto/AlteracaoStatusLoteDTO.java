@@ -0,0 +1,20 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AlteracaoStatusLoteDTO {
+    @NotBlank(message = "Status é obrigatório")
+    @Schema(description = "Novo status dos clientes", example = "INATIVO")
+    private String status;
+
+    @Schema(description = "IDs dos clientes (informe ids ou filtro)", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "Filtro dos clientes (informe ids ou filtro)")
+    private FiltroClientesDTO filtro;
+}
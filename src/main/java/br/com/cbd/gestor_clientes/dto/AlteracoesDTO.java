@@ -0,0 +1,14 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record AlteracoesDTO(
+        @Schema(description = "Alterações depois do cursor informado, da mais antiga para a mais recente")
+        List<AlteracaoClienteDTO> alteracoes,
+
+        @Schema(description = "Cursor para a próxima chamada (o mesmo informado quando não há alterações)")
+        String cursor
+) {
+}
@@ -0,0 +1,14 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+public record CriacoesPorDiaDTO(
+        @Schema(description = "Dia da criação", example = "20/08/2025")
+        LocalDate dia,
+
+        @Schema(description = "Clientes criados no dia", example = "42")
+        long criados
+) {
+}
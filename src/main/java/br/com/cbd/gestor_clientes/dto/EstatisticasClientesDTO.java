@@ -0,0 +1,23 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record EstatisticasClientesDTO(
+        @Schema(description = "Total de clientes", example = "1500")
+        long total,
+
+        @Schema(description = "Clientes por status (todos os status aparecem, mesmo com zero)", example = "{\"ATIVO\": 1200, \"INATIVO\": 100, \"PROSPECT\": 200}")
+        Map<StatusCliente, Long> porStatus,
+
+        @Schema(description = "Clientes criados por dia, do mais antigo para hoje (dias sem criações vêm com zero)")
+        List<CriacoesPorDiaDTO> criadosPorDia,
+
+        @Schema(description = "Última conferência dos contadores com o banco", example = "20/08/2025 18:30:00")
+        LocalDateTime reconciliadoEm
+) {
+}
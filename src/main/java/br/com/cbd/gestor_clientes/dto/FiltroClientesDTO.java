@@ -0,0 +1,21 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class FiltroClientesDTO {
+    @Schema(description = "Status atual dos clientes", example = "PROSPECT")
+    private String status;
+
+    @Schema(description = "Trecho do nome (sem diferenciar maiúsculas)", example = "Silva")
+    private String nome;
+
+    @Schema(description = "Criados a partir deste dia (inclusive)", example = "01/01/2024")
+    private LocalDate criadoDe;
+
+    @Schema(description = "Criados até este dia (inclusive)", example = "31/12/2024")
+    private LocalDate criadoAte;
+}
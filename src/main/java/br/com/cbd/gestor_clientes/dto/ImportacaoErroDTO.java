@@ -0,0 +1,15 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportacaoErroDTO {
+    @Schema(description = "Número da linha no arquivo (a linha 1 é o cabeçalho no CSV)", example = "42")
+    private long linha;
+
+    @Schema(description = "Motivo da rejeição", example = "CPF inválido")
+    private String mensagem;
+}
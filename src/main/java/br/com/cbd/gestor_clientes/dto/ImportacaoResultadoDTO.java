@@ -0,0 +1,28 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportacaoResultadoDTO {
+    @Schema(description = "Linhas de dados lidas", example = "100000")
+    private long total;
+
+    @Schema(description = "Clientes gravados", example = "99850")
+    private long importados;
+
+    @Schema(description = "Linhas rejeitadas", example = "150")
+    private long rejeitados;
+
+    @Schema(description = "Duração da importação em milissegundos", example = "8123")
+    private long duracaoMs;
+
+    @Schema(description = "Vazão média em linhas por segundo", example = "12310.7")
+    private double linhasPorSegundo;
+
+    @Schema(description = "Erros por linha (limitado a gestor.importacao.maximo-erros itens)")
+    private List<ImportacaoErroDTO> erros = new ArrayList<>();
+}
@@ -0,0 +1,53 @@
+package br.com.cbd.gestor_clientes.dto;
+
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ResultadoStatusLoteDTO(
+        @Schema(description = "ID do processamento; acompanhe em GET /clientes/status/jobs/{id} (nulo quando concluído na própria requisição)", example = "3f2c9a4e-6b1d-4c1e-9f61-2a7f0d5b8e10")
+        String id,
+
+        @Schema(description = "Situação do processamento", example = "EM_ANDAMENTO | CONCLUIDO | FALHOU")
+        Situacao situacao,
+
+        @Schema(description = "Novo status aplicado", example = "INATIVO")
+        StatusCliente status,
+
+        @Schema(description = "Clientes selecionados (ids informados ou contagem do filtro no início)", example = "200000")
+        long total,
+
+        @Schema(description = "Clientes já processados", example = "150000")
+        long processados,
+
+        @Schema(description = "Clientes que mudaram de status", example = "149000")
+        long alterados,
+
+        @Schema(description = "Clientes que já estavam no novo status (ex.: já inativos)", example = "1000")
+        long ignorados,
+
+        @Schema(description = "IDs informados que não existem", example = "0")
+        long naoEncontrados,
+
+        @Schema(description = "IDs ignorados (limitado a gestor.status-lote.maximo-ids-relatados itens)")
+        List<Long> idsIgnorados,
+
+        @Schema(description = "IDs não encontrados (limitado a gestor.status-lote.maximo-ids-relatados itens)")
+        List<Long> idsNaoEncontrados,
+
+        @Schema(description = "Início do processamento", example = "20/08/2025 18:30:00")
+        LocalDateTime iniciadoEm,
+
+        @Schema(description = "Fim do processamento (nulo enquanto em andamento)", example = "20/08/2025 18:31:10")
+        LocalDateTime concluidoEm,
+
+        @Schema(description = "Mensagem de erro quando a situação é FALHOU")
+        String erro
+) {
+
+    public enum Situacao {
+        EM_ANDAMENTO, CONCLUIDO, FALHOU
+    }
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Cliente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50) // Alocação em blocos permite INSERTs em lote
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -38,8 +39,9 @@ public class Cliente {
     private String cpf; // Validado no service
 
     @NotNull
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false, columnDefinition = "VARCHAR(20)")
-    private String status = "ATIVO"; // Default ATIVO
+    private StatusCliente status = StatusCliente.ATIVO; // Default ATIVO
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
@@ -48,4 +50,8 @@ public class Cliente {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime atualizadoEm;
+
+    @Version
+    @Column(nullable = false)
+    private Long versao; // Incrementada a cada UPDATE; exposta como ETag
 }
\ No newline at end of file
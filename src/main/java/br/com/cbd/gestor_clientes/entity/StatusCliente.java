@@ -0,0 +1,32 @@
+package br.com.cbd.gestor_clientes.entity;
+
+import br.com.cbd.gestor_clientes.exception.ClienteValidacaoException;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+
+// Gravado pelo nome (EnumType.STRING) na coluna status VARCHAR(20)
+public enum StatusCliente {
+    ATIVO,
+    INATIVO,
+    PROSPECT;
+
+    private static final StatusCliente[] VALORES = values();
+
+    // Sem diferenciar maiúsculas e sem criar strings (no lugar de toUpperCase + List.contains); null se não for um status
+    public static StatusCliente de(String valor) {
+        if (valor == null) return null;
+        for (StatusCliente status : VALORES) {
+            if (status.name().equalsIgnoreCase(valor)) return status;
+        }
+        return null;
+    }
+
+    // Filtro opcional das consultas: null quando ausente, 400 quando não é um status
+    public static StatusCliente filtro(String valor) {
+        if (valor == null) return null;
+        StatusCliente status = de(valor);
+        if (status == null) {
+            throw new ClienteValidacaoException(MotivoRejeicao.STATUS_INVALIDO);
+        }
+        return status;
+    }
+}
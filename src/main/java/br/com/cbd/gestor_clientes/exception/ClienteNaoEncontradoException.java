@@ -0,0 +1,9 @@
+package br.com.cbd.gestor_clientes.exception;
+
+// Cliente inexistente (respondido com 404)
+public class ClienteNaoEncontradoException extends IllegalArgumentException {
+
+    public ClienteNaoEncontradoException() {
+        super("Cliente não encontrado");
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.cbd.gestor_clientes.exception;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Regra de negócio violada (respondida com 400); traz todos os motivos encontrados na validação
+public class ClienteValidacaoException extends IllegalArgumentException {
+
+    private final List<MotivoRejeicao> motivos;
+
+    public ClienteValidacaoException(MotivoRejeicao motivo) {
+        this(List.of(motivo));
+    }
+
+    public ClienteValidacaoException(List<MotivoRejeicao> motivos) {
+        super(mensagem(motivos));
+        this.motivos = List.copyOf(motivos);
+    }
+
+    public List<MotivoRejeicao> getMotivos() {
+        return motivos;
+    }
+
+    // Mensagens dos motivos separadas por "; " (com um só motivo, a própria mensagem)
+    public static String mensagem(List<MotivoRejeicao> motivos) {
+        return motivos.stream().map(MotivoRejeicao::getMensagem).collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.cbd.gestor_clientes.exception;
+
+// Versão informada em If-Match diferente da versão atual do cliente (respondida com 412)
+public class ClienteVersaoDivergenteException extends IllegalArgumentException {
+
+    public ClienteVersaoDivergenteException() {
+        super("O cliente foi alterado depois da versão informada em If-Match; busque-o novamente antes de alterar");
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.cbd.gestor_clientes.exception;
+
+// Motivos de rejeição das regras de negócio; o nome vira a tag "motivo" da métrica clientes.validacao.falhas
+public enum MotivoRejeicao {
+    NOME_CURTO("O nome deve ter pelo menos 3 caracteres"),
+    EMAIL_INVALIDO("Email inválido"),
+    CPF_INVALIDO("CPF inválido"),
+    CPF_DUPLICADO("CPF já cadastrado"),
+    EMAIL_DUPLICADO("Email já cadastrado"),
+    TELEFONE_INVALIDO("Telefone inválido"),
+    STATUS_INVALIDO("Status inválido"),
+    CLIENTE_JA_INATIVO("Cliente já está inativo");
+
+    private final String mensagem;
+
+    MotivoRejeicao(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
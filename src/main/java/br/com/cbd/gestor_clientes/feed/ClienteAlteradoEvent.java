@@ -0,0 +1,14 @@
+package br.com.cbd.gestor_clientes.feed;
+
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+
+// Publicado pelo ClienteService (create/update/delete) e pela importação com o estado gravado do cliente;
+// o ClienteChangeFeed e o ClienteStats só o registram depois do commit.
+// statusAnterior: status antes da alteração (nulo em CRIADO), para quem acompanha as transições de status.
+public record ClienteAlteradoEvent(TipoAlteracao tipo, ClienteDTO cliente, StatusCliente statusAnterior) {
+
+    public static ClienteAlteradoEvent criado(ClienteDTO cliente) {
+        return new ClienteAlteradoEvent(TipoAlteracao.CRIADO, cliente, null);
+    }
+}
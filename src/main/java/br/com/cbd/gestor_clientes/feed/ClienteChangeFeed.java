@@ -0,0 +1,227 @@
+package br.com.cbd.gestor_clientes.feed;
+
+import br.com.cbd.gestor_clientes.dto.AlteracaoClienteDTO;
+import br.com.cbd.gestor_clientes.dto.AlteracoesDTO;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
+import br.com.cbd.gestor_clientes.service.ClienteService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Feed de alterações de clientes: cada alteração confirmada recebe uma sequência crescente e fica num buffer
+// circular em memória (gestor.changes.buffer). GET /clientes/changes e o stream SSE leem do buffer enquanto a
+// sequência do cursor ainda está nele; fora dele (reinício, outra instância, cliente muito atrasado) leem do banco
+// em ordem de (atualizado_em, id) até alcançar o buffer de novo. A entrega é "pelo menos uma vez": na passagem
+// do banco para o buffer uma alteração pode vir repetida, e o consumidor deve aplicar pelo id do cliente.
+// Pelo banco, o tipo é derivado do estado atual (INATIVADO ou ATUALIZADO), e uma linha gravada por uma
+// transação longa com atualizado_em anterior ao cursor não é vista; pelo buffer, a ordem é a do commit.
+@Component
+public class ClienteChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteChangeFeed.class);
+
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    // Identifica esta execução da aplicação: sequências de outra instância ou de antes de um reinício não valem aqui
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AlteracaoClienteDTO[] buffer;
+    private long ultima; // Sequência da última alteração registrada (0 = nenhuma)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition novaAlteracao = lock.newCondition();
+
+    private final ExecutorService assinantes = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    private ClienteJdbcRepository jdbcRepository;
+
+    @Value("${gestor.changes.sse-timeout:30m}")
+    private Duration sseTimeout;
+
+    public ClienteChangeFeed(@Value("${gestor.changes.buffer:10000}") int tamanhoBuffer) {
+        this.buffer = new AlteracaoClienteDTO[tamanhoBuffer];
+    }
+
+    // Só depois do commit (ou na hora, quando publicado fora de transação): rollback não chega ao feed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrar(ClienteAlteradoEvent evento) {
+        ClienteDTO cliente = evento.cliente();
+        lock.lock();
+        try {
+            ultima++;
+            CursorAlteracao cursor = new CursorAlteracao(instancia, ultima, cliente.atualizadoEm(), cliente.id());
+            buffer[(int) (ultima % buffer.length)] = new AlteracaoClienteDTO(cursor.toString(), evento.tipo(), cliente);
+            novaAlteracao.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Alterações depois do cursor (sem cursor = desde o primeiro cliente), no máximo "limit"
+    public AlteracoesDTO desde(String since, Integer limit) {
+        int limite = limit != null ? limit : ClienteService.LIMITE_PADRAO;
+        if (limite < 1 || limite > ClienteService.LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + ClienteService.LIMITE_MAXIMO);
+        }
+        CursorAlteracao cursor = since != null && !since.isBlank()
+                ? CursorAlteracao.ler(since)
+                : new CursorAlteracao(instancia, CursorAlteracao.SEM_SEQUENCIA, CursorAlteracao.INICIO, 0);
+
+        long posicaoAtual;
+        lock.lock();
+        try {
+            if (noBuffer(cursor)) {
+                List<AlteracaoClienteDTO> alteracoes = new ArrayList<>();
+                for (long s = cursor.sequencia() + 1; s <= ultima && alteracoes.size() < limite; s++) {
+                    alteracoes.add(buffer[(int) (s % buffer.length)]);
+                }
+                String proximo = alteracoes.isEmpty() ? cursor.toString() : alteracoes.get(alteracoes.size() - 1).cursor();
+                return new AlteracoesDTO(alteracoes, proximo);
+            }
+            // Tudo que entrou no buffer até aqui já foi confirmado e aparece na consulta abaixo
+            posicaoAtual = ultima;
+        } finally {
+            lock.unlock();
+        }
+        return doBanco(cursor, limite, posicaoAtual);
+    }
+
+    // Fim do feed agora: última sequência do buffer e, para o banco, o instante atual
+    private CursorAlteracao posicaoAtual() {
+        lock.lock();
+        try {
+            return new CursorAlteracao(instancia, ultima, LocalDateTime.now(), 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean noBuffer(CursorAlteracao cursor) {
+        return instancia.equals(cursor.instancia())
+                && cursor.sequencia() != CursorAlteracao.SEM_SEQUENCIA
+                && cursor.sequencia() <= ultima
+                && cursor.sequencia() >= ultima - buffer.length;
+    }
+
+    private AlteracoesDTO doBanco(CursorAlteracao cursor, int limite, long posicaoAtual) {
+        List<ClienteDTO> clientes = jdbcRepository.findAlteradosDepois(cursor.atualizadoEm(), cursor.id(), limite);
+
+        List<AlteracaoClienteDTO> alteracoes = new ArrayList<>(clientes.size());
+        CursorAlteracao ultimo = cursor;
+        for (ClienteDTO cliente : clientes) {
+            ultimo = new CursorAlteracao(instancia, CursorAlteracao.SEM_SEQUENCIA, cliente.atualizadoEm(), cliente.id());
+            TipoAlteracao tipo = cliente.status() == StatusCliente.INATIVO ? TipoAlteracao.INATIVADO : TipoAlteracao.ATUALIZADO;
+            alteracoes.add(new AlteracaoClienteDTO(ultimo.toString(), tipo, cliente));
+        }
+        // Alcançou o fim da tabela: o próximo cursor continua pelo buffer a partir da posição lida antes da consulta
+        if (clientes.size() < limite) {
+            ultimo = ultimo.comSequencia(posicaoAtual);
+        }
+        if (!alteracoes.isEmpty()) {
+            AlteracaoClienteDTO fim = alteracoes.remove(alteracoes.size() - 1);
+            alteracoes.add(new AlteracaoClienteDTO(ultimo.toString(), fim.tipo(), fim.cliente()));
+        }
+        return new AlteracoesDTO(alteracoes, ultimo.toString());
+    }
+
+    // Stream SSE: repete as alterações depois do cursor e segue enviando as novas, cada uma com id = cursor
+    // (o EventSource do navegador reenvia o último id em Last-Event-ID ao reconectar). Sem cursor, só as novas.
+    public SseEmitter assinar(String since) {
+        String inicio;
+        if (since != null && !since.isBlank()) {
+            inicio = CursorAlteracao.ler(since).toString(); // Cursor inválido responde 400 antes de abrir o stream
+        } else {
+            inicio = posicaoAtual().toString();
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        AtomicBoolean encerrado = new AtomicBoolean();
+        Runnable encerrar = () -> {
+            encerrado.set(true);
+            acordarAssinantes();
+        };
+        emitter.onCompletion(encerrar);
+        emitter.onTimeout(encerrar);
+        emitter.onError(e -> encerrar.run());
+        assinantes.submit(() -> enviar(emitter, inicio, encerrado));
+        return emitter;
+    }
+
+    // Uma thread virtual por assinante: cliente lento não segura quem grava nem os outros assinantes
+    private void enviar(SseEmitter emitter, String inicio, AtomicBoolean encerrado) {
+        String cursor = inicio;
+        try {
+            while (!encerrado.get()) {
+                AlteracoesDTO pagina = desde(cursor, ClienteService.LIMITE_MAXIMO);
+                for (AlteracaoClienteDTO alteracao : pagina.alteracoes()) {
+                    emitter.send(SseEmitter.event()
+                            .id(alteracao.cursor())
+                            .name(alteracao.tipo().name())
+                            .data(alteracao, MediaType.APPLICATION_JSON));
+                }
+                cursor = pagina.cursor();
+                if (pagina.alteracoes().isEmpty() && !aguardar(cursor, encerrado)) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Assinante do feed de alterações desconectado: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    // Espera uma alteração depois do cursor; false quando passou o intervalo do heartbeat sem nenhuma
+    private boolean aguardar(String cursor, AtomicBoolean encerrado) {
+        long sequencia = CursorAlteracao.ler(cursor).sequencia();
+        long esperaNanos = HEARTBEAT.toNanos();
+        lock.lock();
+        try {
+            while (ultima <= sequencia && !encerrado.get()) {
+                if (esperaNanos <= 0) return false;
+                esperaNanos = novaAlteracao.awaitNanos(esperaNanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            encerrado.set(true);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acordarAssinantes() {
+        lock.lock();
+        try {
+            novaAlteracao.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        assinantes.shutdownNow();
+        assinantes.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.cbd.gestor_clientes.feed;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+// Posição no feed de alterações, no formato "instancia:sequencia:atualizadoEm:id".
+// - instancia + sequencia: posição no buffer em memória da instância que gerou o cursor (sequência vazia
+//   quando o cursor veio do banco e ainda não alcançou o buffer);
+// - atualizadoEm (microssegundos desde 1970, sem fuso) + id: posição em (atualizado_em, id) no banco,
+//   usada quando o buffer não tem mais a sequência (reinício, outra instância ou cliente muito atrasado).
+public record CursorAlteracao(String instancia, long sequencia, LocalDateTime atualizadoEm, long id) {
+
+    public static final long SEM_SEQUENCIA = -1;
+    public static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static CursorAlteracao ler(String cursor) {
+        String[] partes = cursor.split(":", -1);
+        if (partes.length != 4) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            long sequencia = partes[1].isEmpty() ? SEM_SEQUENCIA : Long.parseLong(partes[1]);
+            long micros = Long.parseLong(partes[2]);
+            LocalDateTime atualizadoEm = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            return new CursorAlteracao(partes[0], sequencia, atualizadoEm, Long.parseLong(partes[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public CursorAlteracao comSequencia(long novaSequencia) {
+        return new CursorAlteracao(instancia, novaSequencia, atualizadoEm, id);
+    }
+
+    @Override
+    public String toString() {
+        long micros = ChronoUnit.MICROS.between(INICIO, atualizadoEm);
+        return instancia + ":" + (sequencia == SEM_SEQUENCIA ? "" : sequencia) + ":" + micros + ":" + id;
+    }
+}
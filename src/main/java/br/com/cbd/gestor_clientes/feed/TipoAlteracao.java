@@ -0,0 +1,7 @@
+package br.com.cbd.gestor_clientes.feed;
+
+public enum TipoAlteracao {
+    CRIADO,
+    ATUALIZADO,
+    INATIVADO
+}
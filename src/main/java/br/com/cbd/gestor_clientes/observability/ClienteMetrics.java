@@ -0,0 +1,52 @@
+package br.com.cbd.gestor_clientes.observability;
+
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Métricas de negócio: falhas de validação por motivo e a etapa de validação como observação própria
+// (timer clientes.validacao e um span filho dentro do span da requisição)
+@Component
+public class ClienteMetrics {
+
+    public static final String ORIGEM_API = "api";
+    public static final String ORIGEM_IMPORTACAO = "importacao";
+
+    private final ObservationRegistry observationRegistry;
+    private final Map<MotivoRejeicao, Counter> falhasApi = new EnumMap<>(MotivoRejeicao.class);
+    private final Map<MotivoRejeicao, Counter> falhasImportacao = new EnumMap<>(MotivoRejeicao.class);
+
+    public ClienteMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+        for (MotivoRejeicao motivo : MotivoRejeicao.values()) {
+            falhasApi.put(motivo, contador(meterRegistry, motivo, ORIGEM_API));
+            falhasImportacao.put(motivo, contador(meterRegistry, motivo, ORIGEM_IMPORTACAO));
+        }
+    }
+
+    public void falhaValidacao(MotivoRejeicao motivo, String origem) {
+        (ORIGEM_IMPORTACAO.equals(origem) ? falhasImportacao : falhasApi).get(motivo).increment();
+    }
+
+    public <T> T validacao(String operacao, Supplier<T> validacao) {
+        return Observation.createNotStarted("clientes.validacao", observationRegistry)
+                .contextualName("validacao " + operacao)
+                .lowCardinalityKeyValue("operacao", operacao)
+                .observe(validacao);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, MotivoRejeicao motivo, String origem) {
+        return Counter.builder("clientes.validacao.falhas")
+                .description("Clientes rejeitados por regra de negócio")
+                .tag("motivo", motivo.name())
+                .tag("origem", origem)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.cbd.gestor_clientes.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Conversor CBOR (application/cbor) com a escrita observada como no JSON
+public class ObservedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedCborHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ObservedJacksonHttpMessageConverter.observar(observationRegistry, "cbor",
+                () -> super.writeInternal(object, type, outputMessage));
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.cbd.gestor_clientes.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Conversor JSON padrão com a escrita do corpo observada (timer clientes.serializacao e span próprio)
+public class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        observar(observationRegistry, "json", () -> super.writeInternal(object, type, outputMessage));
+    }
+
+    interface Escrita {
+        void escrever() throws IOException;
+    }
+
+    // Compartilhado com os conversores binários: mesmo timer, separado pela tag formato
+    static void observar(ObservationRegistry observationRegistry, String formato, Escrita escrita) throws IOException {
+        Observation observation = Observation.createNotStarted("clientes.serializacao", observationRegistry)
+                .contextualName("serializacao")
+                .lowCardinalityKeyValue("formato", formato)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            escrita.escrever();
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
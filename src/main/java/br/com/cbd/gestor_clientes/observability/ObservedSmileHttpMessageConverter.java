@@ -0,0 +1,28 @@
+package br.com.cbd.gestor_clientes.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Conversor Smile (application/x-jackson-smile) com a escrita observada como no JSON
+public class ObservedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedSmileHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ObservedJacksonHttpMessageConverter.observar(observationRegistry, "smile",
+                () -> super.writeInternal(object, type, outputMessage));
+    }
+}
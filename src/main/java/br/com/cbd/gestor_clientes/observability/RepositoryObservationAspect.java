@@ -0,0 +1,38 @@
+package br.com.cbd.gestor_clientes.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Observa cada chamada aos repositórios: timer clientes.banco com a tag "consulta" (nome do método)
+// e um span filho com o tempo gasto no banco
+@Aspect
+@Component
+public class RepositoryObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("target(br.com.cbd.gestor_clientes.repository.ClienteRepository) || within(br.com.cbd.gestor_clientes.repository..*)")
+    public Object observar(ProceedingJoinPoint joinPoint) throws Throwable {
+        String consulta = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted("clientes.banco", observationRegistry)
+                .contextualName("banco " + consulta)
+                .lowCardinalityKeyValue("consulta", consulta)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.cbd.gestor_clientes.repository;
+
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Leituras em JDBC puro para percorrer a tabela inteira sem carregar entidades no contexto de persistência
+@Repository
+public class ClienteJdbcRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_CLIENTE =
+            "SELECT id, nome, email, telefone, cpf, status, criado_em, atualizado_em, versao FROM cliente WHERE 1 = 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Percorre os clientes em ordem de ID usando cursor no servidor (fetch size), linha a linha.
+    // Deve rodar dentro de uma transação: o driver do PostgreSQL só usa cursor com autocommit desligado.
+    public void forEach(StatusCliente status, String nome, Consumer<ClienteDTO> consumer) {
+        forEach(new FiltroClientes(status, nome), FETCH_SIZE, consumer);
+    }
+
+    // Mesmo percurso com todos os critérios do filtro; fetchSize maior reduz as idas ao banco em leituras longas (exportação)
+    public void forEach(FiltroClientes filtro, int fetchSize, Consumer<ClienteDTO> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_CLIENTE);
+        List<Object> args = new ArrayList<>();
+        filtrar(filtro, sql, args);
+        sql.append(" ORDER BY id");
+
+        String query = sql.toString();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    // Clientes alterados depois de (atualizadoEm, id), na ordem do índice idx_cliente_atualizado_em_id
+    public List<ClienteDTO> findAlteradosDepois(LocalDateTime atualizadoEm, long id, int limite) {
+        return jdbcTemplate.query(SELECT_CLIENTE + " AND (atualizado_em, id) > (?, ?) ORDER BY atualizado_em, id LIMIT ?",
+                (rs, n) -> mapRow(rs), atualizadoEm, id, limite);
+    }
+
+    // Total e última alteração dos clientes do status (ou de todos), sem ler as linhas: índice idx_cliente_status_atualizado_em
+    public ResumoClientes resumo(StatusCliente status) {
+        String sql = "SELECT count(*), max(atualizado_em) FROM cliente";
+        Object[] args = {};
+        if (status != null) {
+            sql += " WHERE status = ?";
+            args = new Object[]{status.name()};
+        }
+        return jdbcTemplate.queryForObject(sql,
+                (rs, n) -> new ResumoClientes(rs.getLong(1), rs.getObject(2, LocalDateTime.class)), args);
+    }
+
+    // Quantidade de clientes por status (índice idx_cliente_status_id); status sem clientes ficam de fora
+    public Map<StatusCliente, Long> contarPorStatus() {
+        Map<StatusCliente, Long> contagem = new EnumMap<>(StatusCliente.class);
+        jdbcTemplate.query("SELECT status, count(*) FROM cliente GROUP BY status",
+                (RowCallbackHandler) rs -> contagem.put(StatusCliente.valueOf(rs.getString(1)), rs.getLong(2)));
+        return contagem;
+    }
+
+    // Clientes criados por dia a partir de "desde" (índice idx_cliente_criado_em); dias sem criações ficam de fora
+    public Map<LocalDate, Long> contarCriadosPorDia(LocalDate desde) {
+        Map<LocalDate, Long> contagem = new HashMap<>();
+        jdbcTemplate.query("SELECT CAST(criado_em AS DATE), count(*) FROM cliente WHERE criado_em >= ? GROUP BY CAST(criado_em AS DATE)",
+                (RowCallbackHandler) rs -> contagem.put(rs.getObject(1, LocalDate.class), rs.getLong(2)), desde.atStartOfDay());
+        return contagem;
+    }
+
+    // Próximos ids do filtro depois de afterId, em ordem (paginação por chave para as alterações em lote)
+    public List<Long> findIds(FiltroClientes filtro, long afterId, int limite) {
+        StringBuilder sql = new StringBuilder("SELECT id FROM cliente WHERE id > ?");
+        List<Object> args = new ArrayList<>(List.of(afterId));
+        filtrar(filtro, sql, args);
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limite);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    public long contar(FiltroClientes filtro) {
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM cliente WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        filtrar(filtro, sql, args);
+        Long total = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return total != null ? total : 0;
+    }
+
+    // Lê e trava (FOR UPDATE) os clientes dos ids, em ordem de id para que lotes concorrentes travem na mesma
+    // ordem. Um único parâmetro array (= ANY(?)) mantém o mesmo SQL preparado para qualquer tamanho de lote.
+    public List<ClienteDTO> travarPorIds(List<Long> ids) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_CLIENTE + " AND id = ANY(?) ORDER BY id FOR UPDATE");
+            ps.setArray(1, con.createArrayOf("BIGINT", ids.toArray()));
+            return ps;
+        }, (rs, n) -> mapRow(rs));
+    }
+
+    // Versão atual de cada id (ids inexistentes ficam de fora), com o mesmo parâmetro array de travarPorIds
+    public Map<Long, Long> versoes(List<Long> ids) {
+        Map<Long, Long> versoes = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT id, versao FROM cliente WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("BIGINT", ids.toArray()));
+            return ps;
+        }, (RowCallbackHandler) rs -> versoes.put(rs.getLong(1), rs.getLong(2)));
+        return versoes;
+    }
+
+    // UPDATE em conjunto: o mesmo que o Hibernate faria linha a linha (atualizado_em como no @UpdateTimestamp
+    // e versao + 1 como no @Version), para que ETag, If-Match e o feed de alterações continuem valendo
+    public int alterarStatus(List<Long> ids, StatusCliente status, LocalDateTime atualizadoEm) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "UPDATE cliente SET status = ?, atualizado_em = ?, versao = versao + 1 WHERE id = ANY(?)");
+            ps.setString(1, status.name());
+            ps.setObject(2, atualizadoEm);
+            ps.setArray(3, con.createArrayOf("BIGINT", ids.toArray()));
+            return ps;
+        });
+    }
+
+    private static void filtrar(FiltroClientes filtro, StringBuilder sql, List<Object> args) {
+        if (filtro.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filtro.status().name());
+        }
+        if (filtro.nome() != null) {
+            sql.append(" AND LOWER(nome) LIKE ?");
+            args.add("%" + escapeLike(filtro.nome().toLowerCase()) + "%");
+        }
+        if (filtro.criadoDe() != null) {
+            sql.append(" AND criado_em >= ?");
+            args.add(filtro.criadoDe());
+        }
+        if (filtro.criadoAntesDe() != null) {
+            sql.append(" AND criado_em < ?");
+            args.add(filtro.criadoAntesDe());
+        }
+        if (filtro.atualizadoDe() != null) {
+            sql.append(" AND atualizado_em >= ?");
+            args.add(filtro.atualizadoDe());
+        }
+        if (filtro.atualizadoAntesDe() != null) {
+            sql.append(" AND atualizado_em < ?");
+            args.add(filtro.atualizadoAntesDe());
+        }
+    }
+
+    private ClienteDTO mapRow(ResultSet rs) throws SQLException {
+        return new ClienteDTO(
+                rs.getLong("id"),
+                rs.getString("nome"),
+                rs.getString("email"),
+                rs.getString("telefone"),
+                rs.getString("cpf"),
+                StatusCliente.valueOf(rs.getString("status")),
+                rs.getObject("criado_em", LocalDateTime.class),
+                rs.getObject("atualizado_em", LocalDateTime.class),
+                rs.getLong("versao"));
+    }
+
+    private static String escapeLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
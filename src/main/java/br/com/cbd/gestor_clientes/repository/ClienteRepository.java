@@ -1,19 +1,46 @@
 package br.com.cbd.gestor_clientes.repository;
 
 import br.com.cbd.gestor_clientes.entity.Cliente;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
-    List<Cliente> findAllByOrderByIdAsc();
-    Optional<Cliente> findByEmailOrderByIdAsc(String email);
-    Optional<Cliente> findByCpfOrderByIdAsc(String cpf);
-    List<Cliente> findByStatusOrderByIdAsc(String status);
-    List<Cliente> findByNomeContainingIgnoreCaseOrderByIdAsc(String nome);
-    List<Cliente> findByStatusAndNomeContainingIgnoreCaseOrderByIdAsc(String status, String nome);
+
+    // Leituras com projeção dinâmica: com ClienteDTO.class o Spring Data gera "select new ClienteDTO(...)"
+    // e nenhuma entidade entra no contexto de persistência; com Cliente.class devolve entidades gerenciadas
+    @Transactional(readOnly = true)
+    <T> Optional<T> findProjectionById(Long id, Class<T> tipo);
+
+    @Transactional(readOnly = true)
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> tipo);
+
+    @Transactional(readOnly = true)
+    <T> List<T> findAllByOrderByIdAsc(Class<T> tipo);
+
+    @Transactional(readOnly = true)
+    <T> List<T> findByStatusOrderByIdAsc(StatusCliente status, Class<T> tipo);
+
+    // Paginação por chave (keyset): id > :afterId ORDER BY id LIMIT n
+    @Transactional(readOnly = true)
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit, Class<T> tipo);
+
+    @Transactional(readOnly = true)
+    <T> List<T> findByStatusAndIdGreaterThanOrderByIdAsc(StatusCliente status, Long afterId, Limit limit, Class<T> tipo);
+
+    // Checagem de unicidade em conjunto (um único IN por lote de importação)
+    @Query("select c.cpf from Cliente c where c.cpf in :cpfs")
+    List<String> findCpfsExistentes(Collection<String> cpfs);
+
+    @Query("select c.email from Cliente c where c.email in :emails")
+    List<String> findEmailsExistentes(Collection<String> emails);
 
 }
@@ -0,0 +1,38 @@
+package br.com.cbd.gestor_clientes.repository;
+
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Critérios opcionais (nulo = sem restrição) para selecionar clientes em lote: status, trecho do nome
+// (sem diferenciar maiúsculas) e intervalos de criação [criadoDe, criadoAntesDe) e de alteração [atualizadoDe, atualizadoAntesDe)
+public record FiltroClientes(StatusCliente status, String nome,
+                             LocalDateTime criadoDe, LocalDateTime criadoAntesDe,
+                             LocalDateTime atualizadoDe, LocalDateTime atualizadoAntesDe) {
+
+    public FiltroClientes(StatusCliente status, String nome) {
+        this(status, nome, null, null, null, null);
+    }
+
+    // Intervalos por dia, com o último dia inclusive (como nos filtros dd/MM/yyyy da API)
+    public static FiltroClientes porDias(StatusCliente status, String nome,
+                                         LocalDate criadoDe, LocalDate criadoAte,
+                                         LocalDate atualizadoDe, LocalDate atualizadoAte) {
+        return new FiltroClientes(status, nome != null && !nome.isBlank() ? nome : null,
+                inicio(criadoDe), fim(criadoAte), inicio(atualizadoDe), fim(atualizadoAte));
+    }
+
+    public boolean vazio() {
+        return status == null && nome == null && criadoDe == null && criadoAntesDe == null
+                && atualizadoDe == null && atualizadoAntesDe == null;
+    }
+
+    private static LocalDateTime inicio(LocalDate dia) {
+        return dia != null ? dia.atStartOfDay() : null;
+    }
+
+    private static LocalDateTime fim(LocalDate dia) {
+        return dia != null ? dia.plusDays(1).atStartOfDay() : null;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.cbd.gestor_clientes.repository;
+
+import java.time.LocalDateTime;
+
+// Quantidade de clientes de um filtro e a alteração mais recente entre eles (nula quando não há nenhum).
+// Qualquer criação, atualização ou inativação muda pelo menos um dos dois: base do ETag das listagens.
+public record ResumoClientes(long total, LocalDateTime ultimaAlteracao) {
+}
@@ -0,0 +1,15 @@
+package br.com.cbd.gestor_clientes.search;
+
+import java.util.List;
+
+// Busca de clientes por nome, sem diferenciar acentos e maiúsculas, ordenada por similaridade.
+// A implementação é escolhida por gestor.busca.modo: "trigram" (pg_trgm no PostgreSQL, padrão) ou "memoria".
+public interface ClienteSearchIndex {
+
+    // Ids dos clientes cujo nome se parece com o termo, do mais para o menos similar
+    List<Long> buscar(String termo, String status, int limite);
+
+    // Chamado após gravar um cliente; implementações que leem direto do banco podem ignorar
+    default void indexar(Long id, String nome, String status) {
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.cbd.gestor_clientes.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Índice invertido de trigramas em memória, para bancos sem pg_trgm (H2 nos testes).
+// Segue as regras do pg_trgm: palavras alfanuméricas com dois espaços antes e um depois,
+// similaridade = trigramas em comum / trigramas distintos das duas palavras, limiar 0.3.
+@Component
+@ConditionalOnProperty(name = "gestor.busca.modo", havingValue = "memoria")
+public class InMemoryNgramClienteSearch implements ClienteSearchIndex {
+
+    static final double LIMIAR_SIMILARIDADE = 0.3;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private record Entrada(String nome, long[] trigramas, String status) {
+    }
+
+    private record Resultado(long id, double similaridade) {
+    }
+
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private final Map<Long, Set<Long>> idsPorTrigrama = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    // Carrega o índice a partir da tabela quando a aplicação sobe
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        if (jdbcTemplate == null) return;
+        jdbcTemplate.query("SELECT id, nome, status FROM cliente",
+                (RowCallbackHandler) rs -> indexar(rs.getLong("id"), rs.getString("nome"), rs.getString("status")));
+    }
+
+    @Override
+    public void indexar(Long id, String nome, String status) {
+        String normalizado = normalizar(nome);
+        long[] trigramas = trigramas(normalizado);
+        lock.writeLock().lock();
+        try {
+            Entrada anterior = entradas.put(id, new Entrada(normalizado, trigramas, status));
+            if (anterior != null) {
+                for (long t : anterior.trigramas()) {
+                    Set<Long> ids = idsPorTrigrama.get(t);
+                    if (ids != null) ids.remove(id);
+                }
+            }
+            for (long t : trigramas) {
+                idsPorTrigrama.computeIfAbsent(t, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> buscar(String termo, String status, int limite) {
+        String consulta = normalizar(termo);
+        long[] trigramasConsulta = trigramas(consulta);
+        List<Resultado> resultados = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> emComum = new HashMap<>();
+            for (long t : trigramasConsulta) {
+                Set<Long> ids = idsPorTrigrama.get(t);
+                if (ids == null) continue;
+                for (Long id : ids) {
+                    emComum.merge(id, 1, Integer::sum);
+                }
+            }
+            // Termos curtos podem estar no meio de uma palavra sem compartilhar trigramas com ela
+            if (consulta.length() < 3) {
+                for (Long id : entradas.keySet()) {
+                    emComum.putIfAbsent(id, 0);
+                }
+            }
+
+            for (Map.Entry<Long, Integer> candidato : emComum.entrySet()) {
+                Entrada entrada = entradas.get(candidato.getKey());
+                if (status != null && !status.equals(entrada.status())) continue;
+                int comuns = candidato.getValue();
+                double similaridade = (double) comuns / (trigramasConsulta.length + entrada.trigramas().length - comuns);
+                if (similaridade >= LIMIAR_SIMILARIDADE || entrada.nome().contains(consulta)) {
+                    resultados.add(new Resultado(candidato.getKey(), similaridade));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return resultados.stream()
+                .sorted(Comparator.comparingDouble(Resultado::similaridade).reversed()
+                        .thenComparingLong(Resultado::id))
+                .limit(limite)
+                .map(Resultado::id)
+                .toList();
+    }
+
+    // Minúsculas e sem acentos: "João" -> "joao"
+    static String normalizar(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Trigramas distintos e ordenados, cada um com três chars em um long
+    static long[] trigramas(String normalizado) {
+        Set<Long> trigramas = new HashSet<>();
+        int i = 0, n = normalizado.length();
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(normalizado.charAt(i))) i++;
+            int inicio = i;
+            while (i < n && Character.isLetterOrDigit(normalizado.charAt(i))) i++;
+            if (i > inicio) {
+                String palavra = "  " + normalizado.substring(inicio, i) + " ";
+                for (int j = 0; j + 3 <= palavra.length(); j++) {
+                    trigramas.add(((long) palavra.charAt(j) << 32) | ((long) palavra.charAt(j + 1) << 16) | palavra.charAt(j + 2));
+                }
+            }
+        }
+        long[] resultado = trigramas.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(resultado);
+        return resultado;
+    }
+}
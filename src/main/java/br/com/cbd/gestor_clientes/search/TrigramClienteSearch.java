@@ -0,0 +1,38 @@
+package br.com.cbd.gestor_clientes.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Busca no PostgreSQL servida pelo índice GIN idx_cliente_nome_trgm (migração V4)
+@Component
+@ConditionalOnProperty(name = "gestor.busca.modo", havingValue = "trigram", matchIfMissing = true)
+public class TrigramClienteSearch implements ClienteSearchIndex {
+
+    // A expressão gestor_unaccent(lower(nome)) precisa ser idêntica à do índice para ele ser usado
+    private static final String SQL = """
+            SELECT id FROM cliente
+            WHERE (gestor_unaccent(lower(nome)) % gestor_unaccent(lower(?))
+                   OR gestor_unaccent(lower(nome)) LIKE '%' || gestor_unaccent(lower(?)) || '%')
+            """;
+    private static final String SQL_STATUS = " AND status = ?";
+    private static final String SQL_ORDEM = """
+             ORDER BY similarity(gestor_unaccent(lower(nome)), gestor_unaccent(lower(?))) DESC, id
+            LIMIT ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> buscar(String termo, String status, int limite) {
+        String like = termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        if (status == null) {
+            return jdbcTemplate.queryForList(SQL + SQL_ORDEM, Long.class, termo, like, termo, limite);
+        }
+        return jdbcTemplate.queryForList(SQL + SQL_STATUS + SQL_ORDEM, Long.class, termo, like, status, termo, limite);
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.cbd.gestor_clientes.service;
+
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
+import br.com.cbd.gestor_clientes.repository.FiltroClientes;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+// Exportação para análise (GET /clientes/export): CSV lido de um cursor no servidor numa transação somente leitura
+// e escrito direto na resposta, opcionalmente em gzip. Cada linha é montada e descartada em seguida, então a memória
+// não depende do tamanho da tabela. Datas em ISO-8601 com microssegundos, ordenáveis e lidas sem padrão especial.
+@Service
+@Observed(name = "clientes.exportacao")
+public class ClienteExportService {
+
+    public static final String CABECALHO_CSV = "id,nome,email,telefone,cpf,status,criadoEm,atualizadoEm,versao";
+
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS");
+    private static final int BUFFER = 64 * 1024;
+
+    @Autowired
+    private ClienteJdbcRepository jdbcRepository;
+
+    // Linhas trazidas do banco por ida: maior que o do streaming NDJSON, já que a leitura vai até o fim da tabela
+    @Value("${gestor.exportacao.fetch-size:5000}")
+    private int fetchSize;
+
+    // Retorna a quantidade de clientes exportados
+    @Transactional(readOnly = true)
+    public long exportarCsv(FiltroClientes filtro, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compactado = gzip ? new GZIPOutputStream(out, BUFFER) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compactado != null ? compactado : out, StandardCharsets.UTF_8), BUFFER);
+        writer.write(CABECALHO_CSV);
+        writer.write('\n');
+
+        StringBuilder linha = new StringBuilder(256);
+        long[] exportados = {0};
+        try {
+            jdbcRepository.forEach(filtro, fetchSize, cliente -> {
+                linha.setLength(0);
+                escrever(linha, cliente);
+                try {
+                    writer.append(linha);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exportados[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (compactado != null) {
+            compactado.finish(); // Fecha o gzip sem fechar a resposta
+        }
+        return exportados[0];
+    }
+
+    private static void escrever(StringBuilder linha, ClienteDTO cliente) {
+        linha.append(cliente.id()).append(',');
+        campo(linha, cliente.nome()).append(',');
+        campo(linha, cliente.email()).append(',');
+        campo(linha, cliente.telefone()).append(',');
+        campo(linha, cliente.cpf()).append(',');
+        linha.append(cliente.status()).append(',');
+        dataHora(linha, cliente.criadoEm()).append(',');
+        dataHora(linha, cliente.atualizadoEm()).append(',');
+        linha.append(cliente.versao()).append('\n');
+    }
+
+    // Aspas só quando necessário, com "" para uma aspa literal (o mesmo formato lido pelo POST /clientes/import)
+    private static StringBuilder campo(StringBuilder linha, String valor) {
+        if (valor == null) return linha;
+        boolean aspas = false;
+        for (int i = 0, n = valor.length(); i < n && !aspas; i++) {
+            char c = valor.charAt(i);
+            aspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!aspas) return linha.append(valor);
+        linha.append('"');
+        for (int i = 0, n = valor.length(); i < n; i++) {
+            char c = valor.charAt(i);
+            if (c == '"') linha.append('"');
+            linha.append(c);
+        }
+        return linha.append('"');
+    }
+
+    private static StringBuilder dataHora(StringBuilder linha, LocalDateTime valor) {
+        if (valor != null) DATA_HORA.formatTo(valor, linha);
+        return linha;
+    }
+}
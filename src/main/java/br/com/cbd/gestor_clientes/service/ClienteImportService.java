@@ -0,0 +1,342 @@
+package br.com.cbd.gestor_clientes.service;
+
+import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
+import br.com.cbd.gestor_clientes.dto.ImportacaoErroDTO;
+import br.com.cbd.gestor_clientes.dto.ImportacaoResultadoDTO;
+import br.com.cbd.gestor_clientes.entity.Cliente;
+import br.com.cbd.gestor_clientes.exception.ClienteValidacaoException;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import br.com.cbd.gestor_clientes.feed.ClienteAlteradoEvent;
+import br.com.cbd.gestor_clientes.observability.ClienteMetrics;
+import br.com.cbd.gestor_clientes.repository.ClienteRepository;
+import br.com.cbd.gestor_clientes.search.ClienteSearchIndex;
+import br.com.cbd.gestor_clientes.validation.ClienteNormalizer;
+import br.com.cbd.gestor_clientes.validation.ClienteValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Importação em lote: lê o arquivo em streaming, valida em blocos, checa unicidade com um IN por bloco
+// e grava com INSERTs em lote (ids da sequence cliente_seq, alocados em blocos pelo Hibernate).
+// As constraints UNIQUE continuam sendo a garantia final: uma violação no lote faz a regravação linha a linha.
+@Service
+@Observed(name = "clientes.importacao")
+public class ClienteImportService {
+
+    private static final List<String> COLUNAS_CSV = List.of("nome", "email", "telefone", "cpf", "status");
+
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "email", "cpf");
+
+    @Autowired
+    private ClienteRepository repository;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteSearchIndex searchIndex;
+
+    @Autowired
+    private ClienteMetrics metrics;
+
+    @Autowired
+    private ClienteValidator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${gestor.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${gestor.importacao.maximo-erros:1000}")
+    private int maximoErros;
+
+    public ClienteImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // CSV com cabeçalho; colunas reconhecidas: nome, email, telefone, cpf, status (em qualquer ordem)
+    public ImportacaoResultadoDTO importarCsv(InputStream in) throws IOException {
+        Importacao importacao = new Importacao();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            LeitorCsv leitor = new LeitorCsv(reader);
+            List<String> colunas = leitor.proximo();
+            if (colunas == null) {
+                throw new IllegalArgumentException("Arquivo CSV vazio");
+            }
+            Map<String, Integer> indices = new HashMap<>();
+            for (int i = 0; i < colunas.size(); i++) {
+                indices.put(colunas.get(i).trim().toLowerCase(), i);
+            }
+            List<String> faltando = COLUNAS_OBRIGATORIAS.stream().filter(coluna -> !indices.containsKey(coluna)).toList();
+            if (!faltando.isEmpty()) {
+                throw new IllegalArgumentException("Faltam no cabeçalho do CSV as colunas obrigatórias " + faltando);
+            }
+
+            List<String> campos;
+            while ((campos = leitor.proximo()) != null) {
+                if (campos.size() == 1 && campos.get(0).isBlank()) continue;
+                CreateClienteDTO dto = new CreateClienteDTO();
+                dto.setNome(campo(campos, indices, "nome"));
+                dto.setEmail(campo(campos, indices, "email"));
+                dto.setTelefone(campo(campos, indices, "telefone"));
+                dto.setCpf(campo(campos, indices, "cpf"));
+                String status = campo(campos, indices, "status");
+                if (status != null) {
+                    dto.setStatus(status);
+                }
+                importacao.adicionar(leitor.inicio, dto);
+            }
+        }
+        return importacao.finalizar();
+    }
+
+    // NDJSON: um objeto JSON por linha, com os mesmos campos do POST /clientes
+    public ImportacaoResultadoDTO importarNdjson(InputStream in) throws IOException {
+        Importacao importacao = new Importacao();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long numero = 0;
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                numero++;
+                if (linha.isBlank()) continue;
+                try {
+                    CreateClienteDTO dto = objectMapper.readValue(linha, CreateClienteDTO.class);
+                    if (dto.getStatus() == null) {
+                        dto.setStatus("ATIVO");
+                    }
+                    importacao.adicionar(numero, dto);
+                } catch (JsonProcessingException e) {
+                    importacao.total++;
+                    importacao.rejeitar(numero, "JSON inválido");
+                }
+            }
+        }
+        return importacao.finalizar();
+    }
+
+    private record Linha(long numero, CreateClienteDTO dto) {
+    }
+
+    private class Importacao {
+        private final long inicio = System.nanoTime();
+        private final ImportacaoResultadoDTO resultado = new ImportacaoResultadoDTO();
+        private final List<Linha> lote = new ArrayList<>(tamanhoLote);
+        private long total;
+
+        void adicionar(long numero, CreateClienteDTO dto) {
+            total++;
+            lote.add(new Linha(numero, dto));
+            if (lote.size() >= tamanhoLote) {
+                processarLote(this, lote);
+                lote.clear();
+            }
+        }
+
+        void rejeitar(long numero, String mensagem) {
+            resultado.setRejeitados(resultado.getRejeitados() + 1);
+            if (resultado.getErros().size() < maximoErros) {
+                resultado.getErros().add(new ImportacaoErroDTO(numero, mensagem));
+            }
+        }
+
+        ImportacaoResultadoDTO finalizar() {
+            if (!lote.isEmpty()) {
+                processarLote(this, lote);
+                lote.clear();
+            }
+            long duracaoNanos = System.nanoTime() - inicio;
+            resultado.setTotal(total);
+            resultado.setDuracaoMs(duracaoNanos / 1_000_000);
+            resultado.setLinhasPorSegundo(duracaoNanos > 0 ? total * 1_000_000_000.0 / duracaoNanos : 0);
+            return resultado;
+        }
+    }
+
+    private void processarLote(Importacao importacao, List<Linha> lote) {
+        // 1. Validação de formato, sem acessar o banco; CPF e email seguem na forma canônica
+        List<Linha> validas = new ArrayList<>(lote.size());
+        for (Linha linha : lote) {
+            String erro = validar(linha.dto());
+            if (erro != null) {
+                importacao.rejeitar(linha.numero(), erro);
+            } else {
+                linha.dto().setCpf(ClienteNormalizer.cpf(linha.dto().getCpf()));
+                linha.dto().setEmail(ClienteNormalizer.email(linha.dto().getEmail()));
+                validas.add(linha);
+            }
+        }
+
+        // 2. Duplicidade dentro do próprio lote
+        Set<String> cpfs = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Linha> unicas = new ArrayList<>(validas.size());
+        for (Linha linha : validas) {
+            String cpf = linha.dto().getCpf();
+            String email = linha.dto().getEmail();
+            if (cpfs.contains(cpf)) {
+                importacao.rejeitar(linha.numero(), "CPF duplicado no arquivo");
+            } else if (emails.contains(email)) {
+                importacao.rejeitar(linha.numero(), "Email duplicado no arquivo");
+            } else {
+                cpfs.add(cpf);
+                emails.add(email);
+                unicas.add(linha);
+            }
+        }
+        if (unicas.isEmpty()) return;
+
+        // 3. Duplicidade no banco (um IN por coluna) e gravação em lote, na mesma transação
+        List<Linha> novas = new ArrayList<>(unicas.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> cpfsExistentes = new HashSet<>(repository.findCpfsExistentes(cpfs));
+                Set<String> emailsExistentes = new HashSet<>(repository.findEmailsExistentes(emails));
+                for (Linha linha : unicas) {
+                    if (cpfsExistentes.contains(linha.dto().getCpf())) {
+                        rejeitar(importacao, linha, MotivoRejeicao.CPF_DUPLICADO);
+                    } else if (emailsExistentes.contains(linha.dto().getEmail())) {
+                        rejeitar(importacao, linha, MotivoRejeicao.EMAIL_DUPLICADO);
+                    } else {
+                        novas.add(linha);
+                    }
+                }
+                gravar(importacao, novas);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Outra gravação usou um CPF/email do lote entre a consulta e o INSERT: o lote volta atrás e as
+            // linhas são regravadas uma a uma, cada violação de UNIQUE rejeitando só a sua linha
+            for (Linha linha : novas) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> gravar(importacao, List.of(linha)));
+                } catch (DataIntegrityViolationException violacao) {
+                    MotivoRejeicao motivo = ClienteService.motivoDuplicidade(violacao);
+                    if (motivo == null) throw violacao;
+                    rejeitar(importacao, linha, motivo);
+                }
+            }
+        }
+    }
+
+    private void gravar(Importacao importacao, List<Linha> linhas) {
+        List<Cliente> novos = new ArrayList<>(linhas.size());
+        for (Linha linha : linhas) {
+            novos.add(clienteService.novoCliente(linha.dto()));
+        }
+        repository.saveAllAndFlush(novos);
+        for (Cliente cliente : novos) {
+            searchIndex.indexar(cliente.getId(), cliente.getNome(), cliente.getStatus().name());
+            eventPublisher.publishEvent(ClienteAlteradoEvent.criado(clienteService.mapToDTO(cliente))); // Entra no feed após o commit
+        }
+        entityManager.clear(); // Mantém o contexto de persistência vazio entre os lotes
+        importacao.resultado.setImportados(importacao.resultado.getImportados() + novos.size());
+    }
+
+    // Mesmas regras do POST /clientes (ClienteValidator); todos os motivos da linha vão na mensagem
+    private String validar(CreateClienteDTO dto) {
+        List<MotivoRejeicao> motivos = validator.validar(dto);
+        if (motivos.isEmpty()) return null;
+        for (MotivoRejeicao motivo : motivos) {
+            metrics.falhaValidacao(motivo, ClienteMetrics.ORIGEM_IMPORTACAO);
+        }
+        return ClienteValidacaoException.mensagem(motivos);
+    }
+
+    private void rejeitar(Importacao importacao, Linha linha, MotivoRejeicao motivo) {
+        metrics.falhaValidacao(motivo, ClienteMetrics.ORIGEM_IMPORTACAO);
+        importacao.rejeitar(linha.numero(), motivo.getMensagem());
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> indices, String nome) {
+        Integer indice = indices.get(nome);
+        if (indice == null || indice >= campos.size()) return null;
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Divide uma linha CSV em campos, respeitando aspas duplas ("" representa uma aspa literal)
+    // Registros CSV e não linhas: um campo entre aspas pode ter vírgulas, "" e quebras de linha, como os que o
+    // GET /clientes/export escreve. "inicio" é a linha física onde o registro começa, usada no relatório de erros.
+    private static final class LeitorCsv {
+        private final BufferedReader reader;
+        private long linhas;
+        private long inicio;
+
+        private LeitorCsv(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        // Próximo registro, ou null no fim do arquivo; aspas sem fechamento vão até o fim do arquivo
+        List<String> proximo() throws IOException {
+            String linha = reader.readLine();
+            if (linha == null) return null;
+            inicio = ++linhas;
+            if (inicio == 1) linha = removerBom(linha);
+            List<String> campos = new ArrayList<>(COLUNAS_CSV.size());
+            StringBuilder atual = new StringBuilder();
+            boolean entreAspas = false;
+            while (true) {
+                for (int i = 0; i < linha.length(); i++) {
+                    char c = linha.charAt(i);
+                    if (entreAspas) {
+                        if (c == '"') {
+                            if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                                atual.append('"');
+                                i++;
+                            } else {
+                                entreAspas = false;
+                            }
+                        } else {
+                            atual.append(c);
+                        }
+                    } else if (c == '"') {
+                        entreAspas = true;
+                    } else if (c == ',') {
+                        campos.add(atual.toString());
+                        atual.setLength(0);
+                    } else {
+                        atual.append(c);
+                    }
+                }
+                if (!entreAspas || (linha = reader.readLine()) == null) break;
+                linhas++;
+                atual.append('\n');
+            }
+            campos.add(atual.toString());
+            return campos;
+        }
+    }
+
+    private static String removerBom(String linha) {
+        return !linha.isEmpty() && linha.charAt(0) == '\uFEFF' ? linha.substring(1) : linha;
+    }
+}
@@ -1,151 +1,331 @@
 package br.com.cbd.gestor_clientes.service;
 
+import br.com.cbd.gestor_clientes.cache.ClienteCache;
 import br.com.cbd.gestor_clientes.dto.ClienteDTO;
 import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
 import br.com.cbd.gestor_clientes.dto.UpdateClienteDTO;
 import br.com.cbd.gestor_clientes.entity.Cliente;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.exception.ClienteNaoEncontradoException;
+import br.com.cbd.gestor_clientes.exception.ClienteValidacaoException;
+import br.com.cbd.gestor_clientes.exception.ClienteVersaoDivergenteException;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import br.com.cbd.gestor_clientes.feed.ClienteAlteradoEvent;
+import br.com.cbd.gestor_clientes.feed.TipoAlteracao;
+import br.com.cbd.gestor_clientes.observability.ClienteMetrics;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
 import br.com.cbd.gestor_clientes.repository.ClienteRepository;
+import br.com.cbd.gestor_clientes.repository.ResumoClientes;
+import br.com.cbd.gestor_clientes.search.ClienteSearchIndex;
+import br.com.cbd.gestor_clientes.validation.ClienteNormalizer;
+import br.com.cbd.gestor_clientes.validation.ClienteValidator;
+import br.com.cbd.gestor_clientes.validation.CpfValidator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.observation.annotation.Observed;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "clientes.service")
 public class ClienteService {
 
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+
     @Autowired
     private ClienteRepository repository;
 
-    // Utilitário para validar CPF (simples algoritmo de verificação)
-    public boolean isCpfValido(String cpf) {
-        cpf = cpf.replaceAll("\\D", ""); // Remove não dígitos
-        if (cpf.length() != 11 || cpf.matches("(\\d)\\1{10}")) return false;
+    @Autowired
+    private ClienteJdbcRepository jdbcRepository;
 
-        try {
-            int[] digits = cpf.chars().map(c -> c - '0').toArray();
-            int sum1 = 0, sum2 = 0;
-            for (int i = 0; i < 9; i++) {
-                sum1 += digits[i] * (10 - i);
-                sum2 += digits[i] * (11 - i);
-            }
-            sum2 += digits[9] * 2;
+    @Autowired
+    private ClienteSearchIndex searchIndex;
+
+    @Autowired
+    private ClienteCache cache;
 
-            int mod1 = (sum1 * 10) % 11 % 10;
-            int mod2 = (sum2 * 10) % 11 % 10;
+    @Autowired
+    private ObjectMapper objectMapper;
 
-            return mod1 == digits[9] && mod2 == digits[10];
-        } catch (Exception e) {
-            return false;
-        }
+    @Autowired
+    private ClienteMetrics metrics;
+
+    @Autowired
+    private ClienteValidator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Utilitário para validar CPF (simples algoritmo de verificação)
+    public boolean isCpfValido(String cpf) {
+        return CpfValidator.isValido(cpf);
     }
 
-    // Validar telefone se presente (exemplo: +55 (DD) XXXXX-XXXX)
-    private boolean isTelefoneValido(String telefone) {
-        if (telefone == null || telefone.isBlank()) return true; // Opcional
-        return telefone.matches("^\\+\\d{2}\\s?\\(?\\d{2}\\)?\\s? \\d{4,5}-?\\d{4}$"); // Formato DDI+DDD+numero
+    // Valida um array JSON de CPFs lido em streaming e escreve [{"cpf": ..., "valido": ...}] à medida que lê
+    public int validarCpfs(InputStream in, OutputStream out) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonParser parser = factory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo deve ser um array JSON de CPFs");
+            }
+            int total = 0;
+            try (JsonGenerator gen = factory.createGenerator(out)) {
+                gen.writeStartArray();
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new JsonParseException(parser, "Array de CPFs não foi fechado");
+                    }
+                    gen.writeStartObject();
+                    if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                        // Lê o texto direto do buffer do parser, sem criar uma String por item
+                        char[] texto = parser.getTextCharacters();
+                        int offset = parser.getTextOffset();
+                        int tamanho = parser.getTextLength();
+                        gen.writeFieldName("cpf");
+                        gen.writeString(texto, offset, tamanho);
+                        gen.writeBooleanField("valido", CpfValidator.isValido(CharBuffer.wrap(texto, offset, tamanho)));
+                    } else {
+                        parser.skipChildren();
+                        gen.writeNullField("cpf");
+                        gen.writeBooleanField("valido", false);
+                    }
+                    gen.writeEndObject();
+                    total++;
+                }
+                gen.writeEndArray();
+            }
+            return total;
+        }
     }
 
     public ClienteDTO create(CreateClienteDTO dto) {
-        //Validação explícita do nome
-        if(dto.getNome() == null || dto.getNome().length() < 3){
-            throw new IllegalArgumentException("O nome deve ter pelo menos 3 caracteres");
-        }
-        if (!isCpfValido(dto.getCpf())) {
-            throw new IllegalArgumentException("CPF inválido");
-        }
-        if (repository.findByCpfOrderByIdAsc(dto.getCpf()).isPresent()) {
-            throw new IllegalArgumentException("CPF já cadastrado");
+        List<MotivoRejeicao> motivos = metrics.validacao("create", () -> validator.validar(dto));
+        if (!motivos.isEmpty()) {
+            throw new ClienteValidacaoException(motivos);
         }
-        if (repository.findByEmailOrderByIdAsc(dto.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("Email já cadastrado");
-        }
-        if (!isTelefoneValido(dto.getTelefone())) {
-            throw new IllegalArgumentException("Telefone inválido");
-        }
-        if (!List.of("ATIVO", "INATIVO", "PROSPECT").contains(dto.getStatus().toUpperCase())) {
-            throw new IllegalArgumentException("Status inválido");
+
+        // Sem consulta prévia de CPF/email: as constraints UNIQUE checam no próprio INSERT, sem janela entre
+        // a checagem e a gravação, e a violação volta como a mesma mensagem de duplicidade
+        Cliente saved;
+        try {
+            saved = repository.saveAndFlush(novoCliente(dto));
+        } catch (DataIntegrityViolationException e) {
+            throw duplicidade(e);
         }
+        searchIndex.indexar(saved.getId(), saved.getNome(), saved.getStatus().name());
+        ClienteDTO criado = mapToDTO(saved);
+        eventPublisher.publishEvent(ClienteAlteradoEvent.criado(criado));
+        return criado;
+    }
 
+    // CPF e email gravados na forma canônica (ClienteNormalizer), para que as constraints UNIQUE vejam
+    // "11144477735" e "111.444.777-35" como o mesmo CPF
+    Cliente novoCliente(CreateClienteDTO dto) {
         Cliente cliente = new Cliente();
         cliente.setNome(dto.getNome());
-        cliente.setEmail(dto.getEmail());
+        cliente.setEmail(ClienteNormalizer.email(dto.getEmail()));
         cliente.setTelefone(dto.getTelefone());
-        cliente.setCpf(dto.getCpf());
-        cliente.setStatus(dto.getStatus().toUpperCase());
-
-        Cliente saved = repository.save(cliente);
-        return mapToDTO(saved);
+        cliente.setCpf(ClienteNormalizer.cpf(dto.getCpf()));
+        cliente.setStatus(StatusCliente.de(dto.getStatus()));
+        return cliente;
     }
 
+    // Leituras devolvem projeções (ClienteDTO montado pela consulta, em transação somente leitura), sem entidades.
+    // Somente leitura também as manda para as réplicas, quando configuradas (ReadReplicaConfig)
+    @Transactional(readOnly = true)
     public ClienteDTO findById(Long id) {
-        return repository.findById(id)
-                .map(this::mapToDTO)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado"));
-    }
-
-    public List<ClienteDTO> findAll(String status, String nome) {
-        List<Cliente> clientes;
-        if (status != null && nome != null) {
-            clientes = repository.findByStatusAndNomeContainingIgnoreCaseOrderByIdAsc(status.toUpperCase(),nome);
-        } else if (status != null) {
-            clientes = repository.findByStatusOrderByIdAsc(status.toUpperCase());
-        } else if (nome != null) {
-            clientes = repository.findByNomeContainingIgnoreCaseOrderByIdAsc(nome);
-        } else {
-            clientes = repository.findAllByOrderByIdAsc();
+        return cache.buscar(id, () -> repository.findProjectionById(id, ClienteDTO.class)
+                .orElseThrow(ClienteNaoEncontradoException::new));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClienteDTO> findAll(StatusCliente status, String nome) {
+        if (nome != null) {
+            return buscarPorNome(status, nome, null);
         }
-        return clientes.stream().map(this::mapToDTO).collect(Collectors.toList());
+        if (status != null) {
+            return repository.findByStatusOrderByIdAsc(status, ClienteDTO.class);
+        }
+        return repository.findAllByOrderByIdAsc(ClienteDTO.class);
     }
 
-    public ClienteDTO update(Long id, UpdateClienteDTO dto) {
-        Cliente cliente = repository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado"));
+    // Validador das listagens filtradas por status: muda a cada criação, atualização ou inativação no filtro
+    @Transactional(readOnly = true)
+    public ResumoClientes resumo(StatusCliente status) {
+        return jdbcRepository.resumo(status);
+    }
 
-        // Proibir atualização de CPF
-        // Email pode ser atualizado, mas checar unicidade se alterado
-        if (!cliente.getEmail().equals(dto.getEmail())) {
-            if (repository.findByEmailOrderByIdAsc(dto.getEmail()).isPresent()) {
-                throw new IllegalArgumentException("Email já cadastrado");
+    // Página por chave: retorna até "limit" clientes com id maior que "afterId", em ordem de ID
+    @Transactional(readOnly = true)
+    public List<ClienteDTO> findPage(StatusCliente status, String nome, Long afterId, Integer limit) {
+        if (nome != null) {
+            if (afterId != null) {
+                throw new IllegalArgumentException("afterId não se aplica à busca por nome, que é ordenada por similaridade");
             }
+            return buscarPorNome(status, nome, limit);
         }
-        if (!isTelefoneValido(dto.getTelefone())) {
-            throw new IllegalArgumentException("Telefone inválido");
+        int tamanho = validarLimite(limit);
+        long depoisDe = afterId != null ? afterId : 0L;
+        Limit pagina = Limit.of(tamanho);
+
+        if (status != null) {
+            return repository.findByStatusAndIdGreaterThanOrderByIdAsc(status, depoisDe, pagina, ClienteDTO.class);
+        }
+        return repository.findByIdGreaterThanOrderByIdAsc(depoisDe, pagina, ClienteDTO.class);
+    }
+
+    // Busca por nome sem diferenciar acentos e maiúsculas, do mais para o menos similar
+    @Transactional(readOnly = true)
+    public List<ClienteDTO> buscarPorNome(StatusCliente status, String nome, Integer limit) {
+        List<Long> ids = searchIndex.buscar(nome, status != null ? status.name() : null, validarLimite(limit));
+        if (ids.isEmpty()) return List.of();
+        Map<Long, ClienteDTO> porId = repository.findByIdIn(ids, ClienteDTO.class).stream()
+                .collect(Collectors.toMap(ClienteDTO::id, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private int validarLimite(Integer limit) {
+        int tamanho = limit != null ? limit : LIMITE_PADRAO;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
         }
-        if (!List.of("ATIVO", "INATIVO", "PROSPECT").contains(dto.getStatus().toUpperCase())) {
-            throw new IllegalArgumentException("Status inválido");
+        return tamanho;
+    }
+
+    // Escreve os clientes em NDJSON (um JSON por linha) direto do cursor JDBC, com memória constante
+    @Transactional(readOnly = true)
+    public void streamAll(StatusCliente status, String nome, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ClienteDTO.class);
+        BufferedOutputStream buffer = new BufferedOutputStream(out, 16 * 1024);
+        try {
+            jdbcRepository.forEach(status, nome, dto -> {
+                try {
+                    buffer.write(writer.writeValueAsBytes(dto));
+                    buffer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        buffer.flush();
+    }
+
+    // versaoEsperada (If-Match) nula = sem pré-condição; o UPDATE ainda confere a versão lida aqui, então
+    // uma gravação concorrente entre a leitura e o flush termina em ObjectOptimisticLockingFailureException
+    @Transactional
+    public ClienteDTO update(Long id, UpdateClienteDTO dto, Long versaoEsperada) {
+        Cliente cliente = repository.findById(id)
+                .orElseThrow(ClienteNaoEncontradoException::new);
+        verificarVersao(cliente, versaoEsperada);
 
+        List<MotivoRejeicao> motivos = metrics.validacao("update", () -> validator.validar(dto));
+        if (!motivos.isEmpty()) {
+            throw new ClienteValidacaoException(motivos);
+        }
+
+        // Proibir atualização de CPF
+        // Email pode ser atualizado; a unicidade é checada pela constraint no UPDATE
+        StatusCliente statusAnterior = cliente.getStatus();
         cliente.setNome(dto.getNome());
-        cliente.setEmail(dto.getEmail());
+        cliente.setEmail(ClienteNormalizer.email(dto.getEmail()));
         cliente.setTelefone(dto.getTelefone());
-        cliente.setStatus(dto.getStatus().toUpperCase());
-        // atualizadoEm é automático via @UpdateTimestamp
+        cliente.setStatus(StatusCliente.de(dto.getStatus()));
+        // atualizadoEm é automático via @UpdateTimestamp; versao é incrementada pelo @Version
 
-        Cliente updated = repository.save(cliente);
-        return mapToDTO(updated);
+        Cliente updated;
+        try {
+            updated = repository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicidade(e);
+        }
+        searchIndex.indexar(updated.getId(), updated.getNome(), updated.getStatus().name());
+        ClienteDTO atualizado = mapToDTO(updated);
+        eventPublisher.publishEvent(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, atualizado, statusAnterior));
+        return atualizado;
     }
 
-    public void delete(Long id) {
+    @Transactional
+    public void delete(Long id, Long versaoEsperada) {
         Cliente cliente = repository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado"));
-        if("INATIVO".equalsIgnoreCase(cliente.getStatus())){
-            throw new IllegalArgumentException("Cliente já está inativo");
+                .orElseThrow(ClienteNaoEncontradoException::new);
+        verificarVersao(cliente, versaoEsperada);
+        if(cliente.getStatus() == StatusCliente.INATIVO){
+            throw new ClienteValidacaoException(MotivoRejeicao.CLIENTE_JA_INATIVO);
+        }
+        StatusCliente statusAnterior = cliente.getStatus();
+        cliente.setStatus(StatusCliente.INATIVO);
+        Cliente inativado = repository.saveAndFlush(cliente);
+        searchIndex.indexar(inativado.getId(), inativado.getNome(), inativado.getStatus().name());
+        ClienteDTO dto = mapToDTO(inativado);
+        eventPublisher.publishEvent(new ClienteAlteradoEvent(TipoAlteracao.INATIVADO, dto, statusAnterior));
+    }
+
+    private static void verificarVersao(Cliente cliente, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(cliente.getVersao())) {
+            throw new ClienteVersaoDivergenteException();
         }
-        cliente.setStatus("INATIVO");
-        repository.save(cliente);
-    }
-
-    private ClienteDTO mapToDTO(Cliente cliente) {
-        ClienteDTO dto = new ClienteDTO();
-        dto.setId(cliente.getId());
-        dto.setNome(cliente.getNome());
-        dto.setEmail(cliente.getEmail());
-        dto.setTelefone(cliente.getTelefone());
-        dto.setCpf(cliente.getCpf());
-        dto.setStatus(cliente.getStatus());
-        dto.setCriadoEm(cliente.getCriadoEm());
-        dto.setAtualizadoEm(cliente.getAtualizadoEm());
-        return dto;
+    }
+
+    // Violação de UNIQUE em CPF/email vira o erro de validação correspondente; outras seguem como estão
+    private static RuntimeException duplicidade(DataIntegrityViolationException e) {
+        MotivoRejeicao motivo = motivoDuplicidade(e);
+        return motivo != null ? new ClienteValidacaoException(motivo) : e;
+    }
+
+    // Identifica a constraint violada pelo nome (uk_cliente_cpf/uk_cliente_email, migrações V1 e V5). O Hibernate
+    // extrai o nome da mensagem do banco; no H2 ele vem dentro do nome do índice, por isso a busca é por trecho
+    static MotivoRejeicao motivoDuplicidade(DataIntegrityViolationException e) {
+        String detalhe = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (e.getCause() instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+            detalhe = violacao.getConstraintName() + " " + detalhe;
+        }
+        detalhe = detalhe.toLowerCase(Locale.ROOT);
+        if (detalhe.contains("uk_cliente_cpf")) return MotivoRejeicao.CPF_DUPLICADO;
+        if (detalhe.contains("uk_cliente_email")) return MotivoRejeicao.EMAIL_DUPLICADO;
+        return null;
+    }
+
+    // Só para o estado recém-gravado por create/update/delete e pela importação
+    ClienteDTO mapToDTO(Cliente cliente) {
+        return new ClienteDTO(
+                cliente.getId(),
+                cliente.getNome(),
+                cliente.getEmail(),
+                cliente.getTelefone(),
+                cliente.getCpf(),
+                cliente.getStatus(),
+                cliente.getCriadoEm(),
+                cliente.getAtualizadoEm(),
+                cliente.getVersao());
     }
 }
\ No newline at end of file
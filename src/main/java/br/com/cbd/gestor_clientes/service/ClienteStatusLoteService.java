@@ -0,0 +1,273 @@
+package br.com.cbd.gestor_clientes.service;
+
+import br.com.cbd.gestor_clientes.dto.AlteracaoStatusLoteDTO;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.dto.FiltroClientesDTO;
+import br.com.cbd.gestor_clientes.dto.ResultadoStatusLoteDTO;
+import br.com.cbd.gestor_clientes.dto.ResultadoStatusLoteDTO.Situacao;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.exception.ClienteValidacaoException;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import br.com.cbd.gestor_clientes.feed.ClienteAlteradoEvent;
+import br.com.cbd.gestor_clientes.feed.TipoAlteracao;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
+import br.com.cbd.gestor_clientes.repository.FiltroClientes;
+import br.com.cbd.gestor_clientes.search.ClienteSearchIndex;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+// Alteração de status em lote (PATCH /clientes/status), por ids ou por filtro, em blocos de gestor.status-lote.tamanho-lote.
+// Cada bloco é uma transação curta com dois comandos em conjunto: trava e lê os clientes (SELECT ... FOR UPDATE)
+// e altera os que ainda não estão no novo status (UPDATE ... WHERE id = ANY(?)). Até um bloco roda na própria
+// requisição, sem id (não há o que acompanhar); acima disso roda numa thread virtual e a resposta traz o id do
+// processamento para acompanhar o progresso.
+@Service
+@Observed(name = "clientes.status-lote")
+public class ClienteStatusLoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteStatusLoteService.class);
+
+    @Autowired
+    private ClienteJdbcRepository jdbcRepository;
+
+    @Autowired
+    private ClienteSearchIndex searchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, Processo> processos = new ConcurrentHashMap<>();
+
+    @Value("${gestor.status-lote.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${gestor.status-lote.maximo-ids-relatados:1000}")
+    private int maximoIdsRelatados;
+
+    // Por quanto tempo um processamento concluído continua consultável
+    @Value("${gestor.status-lote.retencao:PT1H}")
+    private Duration retencao;
+
+    public ClienteStatusLoteService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // CONCLUIDO quando a seleção coube num bloco; EM_ANDAMENTO (consultar por id) quando foi para segundo plano
+    public ResultadoStatusLoteDTO alterar(AlteracaoStatusLoteDTO dto) {
+        StatusCliente novo = StatusCliente.de(dto.getStatus());
+        if (novo == null) {
+            throw new ClienteValidacaoException(MotivoRejeicao.STATUS_INVALIDO);
+        }
+        if ((dto.getIds() != null) == (dto.getFiltro() != null)) {
+            throw new IllegalArgumentException("Informe ids ou filtro, um dos dois");
+        }
+        descartarConcluidos();
+
+        if (dto.getIds() != null) {
+            List<Long> ids = dto.getIds().stream().filter(Objects::nonNull).distinct().toList();
+            if (ids.isEmpty()) {
+                throw new IllegalArgumentException("Informe ao menos um id");
+            }
+            Processo processo = new Processo(novo, ids.size());
+            return executar(processo, () -> {
+                for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+                    processarBloco(processo, ids.subList(inicio, Math.min(ids.size(), inicio + tamanhoLote)), true, cliente -> true);
+                }
+            });
+        }
+
+        FiltroClientes filtro = filtro(dto.getFiltro());
+        Processo processo = new Processo(novo, jdbcRepository.contar(filtro));
+        return executar(processo, () -> {
+            long afterId = 0;
+            List<Long> ids;
+            while (!(ids = jdbcRepository.findIds(filtro, afterId, tamanhoLote)).isEmpty()) {
+                // Entre a consulta e a trava o cliente pode ter saído do filtro: confere de novo já travado
+                processarBloco(processo, ids, false, cliente -> atende(filtro, cliente));
+                afterId = ids.get(ids.size() - 1);
+            }
+        });
+    }
+
+    public Optional<ResultadoStatusLoteDTO> consultar(String id) {
+        return Optional.ofNullable(processos.get(id)).map(Processo::resultado);
+    }
+
+    private ResultadoStatusLoteDTO executar(Processo processo, Runnable blocos) {
+        if (processo.total <= tamanhoLote) {
+            blocos.run();
+            processo.concluir(null);
+            return processo.resultado();
+        }
+        processo.id = UUID.randomUUID().toString();
+        processos.put(processo.id, processo);
+        executor.submit(() -> {
+            try {
+                blocos.run();
+                processo.concluir(null);
+            } catch (RuntimeException e) {
+                log.error("Alteração de status em lote {} interrompida", processo.id, e);
+                processo.concluir(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+        });
+        return processo.resultado();
+    }
+
+    private record Bloco(int processados, int alterados, List<Long> ignorados, List<Long> naoEncontrados) {
+    }
+
+    private void processarBloco(Processo processo, List<Long> ids, boolean relatarAusentes, Predicate<ClienteDTO> aindaAtende) {
+        StatusCliente novo = processo.status;
+        TipoAlteracao tipo = novo == StatusCliente.INATIVO ? TipoAlteracao.INATIVADO : TipoAlteracao.ATUALIZADO;
+        Bloco bloco = transactionTemplate.execute(status -> {
+            List<ClienteDTO> clientes = jdbcRepository.travarPorIds(ids);
+
+            List<Long> naoEncontrados = new ArrayList<>();
+            if (relatarAusentes && clientes.size() < ids.size()) {
+                Set<Long> encontrados = new HashSet<>();
+                clientes.forEach(cliente -> encontrados.add(cliente.id()));
+                ids.stream().filter(id -> !encontrados.contains(id)).forEach(naoEncontrados::add);
+            }
+            List<ClienteDTO> alterar = new ArrayList<>(clientes.size());
+            List<Long> ignorados = new ArrayList<>();
+            int processados = naoEncontrados.size();
+            for (ClienteDTO cliente : clientes) {
+                if (!aindaAtende.test(cliente)) continue;
+                processados++;
+                if (cliente.status() == novo) {
+                    ignorados.add(cliente.id()); // Mesmo comportamento do DELETE em cliente já inativo, sem falhar o lote
+                } else {
+                    alterar.add(cliente);
+                }
+            }
+            if (alterar.isEmpty()) {
+                return new Bloco(processados, 0, ignorados, naoEncontrados);
+            }
+
+            // Mesma precisão da coluna (TIMESTAMP(6)), para o estado publicado ser igual ao gravado
+            LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            jdbcRepository.alterarStatus(alterar.stream().map(ClienteDTO::id).toList(), novo, agora);
+            for (ClienteDTO antes : alterar) {
+                ClienteDTO depois = new ClienteDTO(antes.id(), antes.nome(), antes.email(), antes.telefone(), antes.cpf(),
+                        novo, antes.criadoEm(), agora, antes.versao() + 1);
+                searchIndex.indexar(depois.id(), depois.nome(), novo.name());
+                eventPublisher.publishEvent(new ClienteAlteradoEvent(tipo, depois, antes.status())); // Cache, feed e contadores após o commit
+            }
+            return new Bloco(processados, alterar.size(), ignorados, naoEncontrados);
+        });
+        processo.somar(bloco);
+    }
+
+    private static FiltroClientes filtro(FiltroClientesDTO dto) {
+        FiltroClientes filtro = FiltroClientes.porDias(StatusCliente.filtro(dto.getStatus()), dto.getNome(),
+                dto.getCriadoDe(), dto.getCriadoAte(), null, null);
+        if (filtro.vazio()) {
+            throw new IllegalArgumentException("Informe ao menos um critério no filtro (status, nome, criadoDe ou criadoAte)");
+        }
+        return filtro;
+    }
+
+    // Mesmas condições do ClienteJdbcRepository.findIds, conferidas no cliente já travado
+    private static boolean atende(FiltroClientes filtro, ClienteDTO cliente) {
+        return (filtro.status() == null || filtro.status() == cliente.status())
+                && (filtro.nome() == null || cliente.nome().toLowerCase(Locale.ROOT).contains(filtro.nome().toLowerCase(Locale.ROOT)))
+                && (filtro.criadoDe() == null || !cliente.criadoEm().isBefore(filtro.criadoDe()))
+                && (filtro.criadoAntesDe() == null || cliente.criadoEm().isBefore(filtro.criadoAntesDe()))
+                && (filtro.atualizadoDe() == null || !cliente.atualizadoEm().isBefore(filtro.atualizadoDe()))
+                && (filtro.atualizadoAntesDe() == null || cliente.atualizadoEm().isBefore(filtro.atualizadoAntesDe()));
+    }
+
+    private void descartarConcluidos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+        processos.values().removeIf(processo -> processo.concluidoAntesDe(limite));
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Progresso de um processamento; atualizado pela thread do processamento e lido pelas consultas
+    private class Processo {
+        private String id; // Só os processamentos em segundo plano recebem id e ficam consultáveis
+        private final StatusCliente status;
+        private final long total;
+        private final LocalDateTime iniciadoEm = LocalDateTime.now();
+        private final List<Long> idsIgnorados = new ArrayList<>();
+        private final List<Long> idsNaoEncontrados = new ArrayList<>();
+        private long processados;
+        private long alterados;
+        private long ignorados;
+        private long naoEncontrados;
+        private Situacao situacao = Situacao.EM_ANDAMENTO;
+        private LocalDateTime concluidoEm;
+        private String erro;
+
+        Processo(StatusCliente status, long total) {
+            this.status = status;
+            this.total = total;
+        }
+
+        synchronized void somar(Bloco bloco) {
+            processados += bloco.processados();
+            alterados += bloco.alterados();
+            ignorados += bloco.ignorados().size();
+            naoEncontrados += bloco.naoEncontrados().size();
+            relatar(idsIgnorados, bloco.ignorados());
+            relatar(idsNaoEncontrados, bloco.naoEncontrados());
+        }
+
+        private void relatar(List<Long> relatados, List<Long> novos) {
+            int espaco = maximoIdsRelatados - relatados.size();
+            if (espaco > 0) {
+                relatados.addAll(novos.subList(0, Math.min(espaco, novos.size())));
+            }
+        }
+
+        synchronized void concluir(String erro) {
+            this.situacao = erro == null ? Situacao.CONCLUIDO : Situacao.FALHOU;
+            this.erro = erro;
+            this.concluidoEm = LocalDateTime.now();
+        }
+
+        synchronized boolean concluidoAntesDe(LocalDateTime limite) {
+            return concluidoEm != null && concluidoEm.isBefore(limite);
+        }
+
+        synchronized ResultadoStatusLoteDTO resultado() {
+            return new ResultadoStatusLoteDTO(id, situacao, status, total, processados, alterados, ignorados, naoEncontrados,
+                    List.copyOf(idsIgnorados), List.copyOf(idsNaoEncontrados), iniciadoEm, concluidoEm, erro);
+        }
+    }
+}
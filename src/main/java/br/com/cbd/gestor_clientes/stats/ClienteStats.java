@@ -0,0 +1,209 @@
+package br.com.cbd.gestor_clientes.stats;
+
+import br.com.cbd.gestor_clientes.dto.CriacoesPorDiaDTO;
+import br.com.cbd.gestor_clientes.dto.EstatisticasClientesDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.feed.ClienteAlteradoEvent;
+import br.com.cbd.gestor_clientes.feed.TipoAlteracao;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Contadores em memória do GET /clientes/stats: clientes por status e criações por dia (últimos gestor.stats.dias).
+// Carregados com um GROUP BY quando a aplicação sobe, atualizados por ClienteAlteradoEvent depois de cada commit
+// (rollback não conta) e reconciliados com o banco a cada gestor.stats.reconciliacao, o que corrige gravações de
+// outras instâncias ou feitas direto no banco. LongAdder: gravações simultâneas não disputam o mesmo contador.
+// As duas contagens saem do mesmo snapshot (REPEATABLE READ); os eventos recebidos enquanto o banco conta são
+// guardados e, no fim, os que o snapshot ainda não vê (versão do cliente maior que a do snapshot) entram por cima
+// da contagem. A reconciliação nunca desiste por causa de gravações concorrentes.
+@Component
+public class ClienteStats {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteStats.class);
+
+    public static final int DIAS_PADRAO = 30;
+
+    private final Map<StatusCliente, LongAdder> porStatus = new EnumMap<>(StatusCliente.class);
+    private final ConcurrentMap<LocalDate, LongAdder> criadosPorDia = new ConcurrentHashMap<>();
+
+    // Eventos aplicam sob a trava de leitura (entre si não se bloqueiam); a reconciliação abre e fecha a fila de
+    // eventos durante a contagem e troca os valores sob a de escrita, para não perder nem contar em dobro
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private volatile Queue<ClienteAlteradoEvent> duranteContagem;
+    private volatile LocalDateTime reconciliadoEm;
+
+    @Autowired
+    private ClienteJdbcRepository jdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${gestor.stats.dias:90}")
+    private int diasMantidos;
+
+    public ClienteStats() {
+        for (StatusCliente status : StatusCliente.values()) {
+            porStatus.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconciliar();
+    }
+
+    @Scheduled(fixedDelayString = "${gestor.stats.reconciliacao:PT5M}", initialDelayString = "${gestor.stats.reconciliacao:PT5M}")
+    public void reconciliarPeriodicamente() {
+        reconciliar();
+    }
+
+    // Substitui os contadores pela contagem do banco mais os eventos que o snapshot da contagem ainda não vê
+    void reconciliar() {
+        Queue<ClienteAlteradoEvent> eventos = new ConcurrentLinkedQueue<>();
+        trava.writeLock().lock();
+        try {
+            duranteContagem = eventos;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        try {
+            snapshot().executeWithoutResult(transacao -> {
+                LocalDate inicio = LocalDate.now().minusDays(diasMantidos - 1L);
+                Map<StatusCliente, Long> statusNoBanco = new EnumMap<>(StatusCliente.class);
+                statusNoBanco.putAll(jdbcRepository.contarPorStatus());
+                Map<LocalDate, Long> diasNoBanco = new HashMap<>(jdbcRepository.contarCriadosPorDia(inicio));
+
+                trava.writeLock().lock();
+                try {
+                    somarNaoVistos(List.copyOf(eventos), statusNoBanco, diasNoBanco, inicio);
+                    substituir(statusNoBanco, diasNoBanco);
+                    duranteContagem = null;
+                } finally {
+                    trava.writeLock().unlock();
+                }
+            });
+        } finally {
+            duranteContagem = null;
+        }
+    }
+
+    // No primário (sem readOnly, que iria para a réplica): uma réplica atrasada não veria gravações cujos eventos
+    // já foram aplicados antes de a fila abrir
+    private TransactionTemplate snapshot() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template;
+    }
+
+    // Evento cujo cliente está no snapshot numa versão anterior (ou nem está) foi confirmado depois dele: soma a
+    // transição por cima da contagem. A consulta das versões roda no mesmo snapshot, com os eventos parados.
+    private void somarNaoVistos(List<ClienteAlteradoEvent> eventos, Map<StatusCliente, Long> statusNoBanco,
+                                Map<LocalDate, Long> diasNoBanco, LocalDate inicio) {
+        if (eventos.isEmpty()) return;
+        Map<Long, Long> versoes = jdbcRepository.versoes(eventos.stream().map(e -> e.cliente().id()).distinct().toList());
+        for (ClienteAlteradoEvent evento : eventos) {
+            Long visivel = versoes.get(evento.cliente().id());
+            long versao = evento.cliente().versao() != null ? evento.cliente().versao() : 0;
+            if (visivel != null && visivel >= versao) continue;
+            StatusCliente anterior = evento.statusAnterior();
+            StatusCliente atual = evento.cliente().status();
+            if (anterior != atual) {
+                if (anterior != null) statusNoBanco.merge(anterior, -1L, Long::sum);
+                statusNoBanco.merge(atual, 1L, Long::sum);
+            }
+            LocalDate dia = evento.cliente().criadoEm().toLocalDate();
+            if (evento.tipo() == TipoAlteracao.CRIADO && !dia.isBefore(inicio)) {
+                diasNoBanco.merge(dia, 1L, Long::sum);
+            }
+        }
+    }
+
+    private void substituir(Map<StatusCliente, Long> statusNoBanco, Map<LocalDate, Long> diasNoBanco) {
+        porStatus.forEach((status, contador) -> {
+            long esperado = statusNoBanco.getOrDefault(status, 0L);
+            long diferenca = esperado - contador.sum();
+            if (diferenca != 0 && reconciliadoEm != null) {
+                log.info("Contador de clientes {} corrigido em {} na reconciliação", status, diferenca);
+            }
+            contador.add(diferenca);
+        });
+        criadosPorDia.keySet().removeIf(dia -> !diasNoBanco.containsKey(dia));
+        diasNoBanco.forEach((dia, total) -> {
+            LongAdder contador = criadosPorDia.computeIfAbsent(dia, d -> new LongAdder());
+            contador.add(total - contador.sum());
+        });
+        reconciliadoEm = LocalDateTime.now();
+    }
+
+    // Só depois do commit (ou na hora, quando publicado fora de transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrar(ClienteAlteradoEvent evento) {
+        StatusCliente anterior = evento.statusAnterior();
+        StatusCliente atual = evento.cliente().status();
+        trava.readLock().lock();
+        try {
+            if (anterior != atual) {
+                if (anterior != null) porStatus.get(anterior).decrement();
+                porStatus.get(atual).increment();
+            }
+            if (evento.tipo() == TipoAlteracao.CRIADO) {
+                criadosPorDia.computeIfAbsent(evento.cliente().criadoEm().toLocalDate(), d -> new LongAdder()).increment();
+            }
+            Queue<ClienteAlteradoEvent> fila = duranteContagem;
+            if (fila != null) fila.add(evento);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Totais por status e criações dos últimos "dias" (padrão 30), sem consultar o banco
+    public EstatisticasClientesDTO estatisticas(Integer dias) {
+        int quantidade = dias != null ? dias : DIAS_PADRAO;
+        if (quantidade < 1 || quantidade > diasMantidos) {
+            throw new IllegalArgumentException("dias deve estar entre 1 e " + diasMantidos);
+        }
+        LocalDate hoje = LocalDate.now();
+        Map<StatusCliente, Long> status = new EnumMap<>(StatusCliente.class);
+        List<CriacoesPorDiaDTO> criados = new ArrayList<>(quantidade);
+        long total = 0;
+        trava.readLock().lock();
+        try {
+            for (Map.Entry<StatusCliente, LongAdder> contador : porStatus.entrySet()) {
+                long valor = contador.getValue().sum();
+                status.put(contador.getKey(), valor);
+                total += valor;
+            }
+            for (LocalDate dia = hoje.minusDays(quantidade - 1L); !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+                LongAdder contador = criadosPorDia.get(dia);
+                criados.add(new CriacoesPorDiaDTO(dia, contador != null ? contador.sum() : 0));
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        return new EstatisticasClientesDTO(total, status, criados, reconciliadoEm);
+    }
+}
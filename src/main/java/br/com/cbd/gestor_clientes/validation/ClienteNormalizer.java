@@ -0,0 +1,36 @@
+package br.com.cbd.gestor_clientes.validation;
+
+import java.util.Locale;
+
+// Forma canônica de CPF e email antes de gravar ou consultar: as constraints UNIQUE e os índices
+// comparam o valor armazenado, então "111.444.777-35" e "11144477735" precisam virar a mesma string.
+public final class ClienteNormalizer {
+
+    private ClienteNormalizer() {
+    }
+
+    // "11144477735" ou " 111 444 777 35 " -> "111.444.777-35"; sem 11 dígitos, devolve o valor sem alteração
+    public static String cpf(String cpf) {
+        if (cpf == null) return null;
+        char[] formatado = new char[14];
+        int quantidade = 0;
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') continue;
+            if (quantidade == 11) return cpf;
+            int posicao = quantidade + quantidade / 3;
+            formatado[posicao] = c;
+            quantidade++;
+        }
+        if (quantidade != 11) return cpf;
+        formatado[3] = '.';
+        formatado[7] = '.';
+        formatado[11] = '-';
+        return new String(formatado);
+    }
+
+    // Email sem espaços nas pontas e em minúsculas
+    public static String email(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
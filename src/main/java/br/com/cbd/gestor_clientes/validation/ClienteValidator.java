@@ -0,0 +1,64 @@
+package br.com.cbd.gestor_clientes.validation;
+
+import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
+import br.com.cbd.gestor_clientes.dto.UpdateClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+// Regras de formato de cliente que não dependem do banco, usadas pelo POST/PUT /clientes e pela importação em lote.
+// Todas as regras rodam em uma passada e os motivos de todas as que falharam voltam juntos, na ordem abaixo.
+// Nenhuma regra usa regex: CPF, telefone e email têm validadores que percorrem o texto caractere a caractere.
+@Component
+public class ClienteValidator {
+
+    private record Regra<T>(MotivoRejeicao motivo, Predicate<T> valido) {
+    }
+
+    private static final List<Regra<CreateClienteDTO>> NOVO_CLIENTE = List.of(
+            new Regra<>(MotivoRejeicao.NOME_CURTO, dto -> isNomeValido(dto.getNome())),
+            new Regra<>(MotivoRejeicao.EMAIL_INVALIDO, dto -> EmailValidator.isValido(dto.getEmail())),
+            new Regra<>(MotivoRejeicao.CPF_INVALIDO, dto -> CpfValidator.isValido(dto.getCpf())),
+            new Regra<>(MotivoRejeicao.TELEFONE_INVALIDO, dto -> TelefoneValidator.isValido(dto.getTelefone())),
+            new Regra<>(MotivoRejeicao.STATUS_INVALIDO, dto -> StatusCliente.de(dto.getStatus()) != null));
+
+    // CPF não pode ser alterado, então não entra na atualização
+    private static final List<Regra<UpdateClienteDTO>> ATUALIZACAO = List.of(
+            new Regra<>(MotivoRejeicao.NOME_CURTO, dto -> isNomeValido(dto.getNome())),
+            new Regra<>(MotivoRejeicao.EMAIL_INVALIDO, dto -> EmailValidator.isValido(dto.getEmail())),
+            new Regra<>(MotivoRejeicao.TELEFONE_INVALIDO, dto -> TelefoneValidator.isValido(dto.getTelefone())),
+            new Regra<>(MotivoRejeicao.STATUS_INVALIDO, dto -> StatusCliente.de(dto.getStatus()) != null));
+
+    // Lista vazia quando o cliente é válido
+    public List<MotivoRejeicao> validar(CreateClienteDTO dto) {
+        return aplicar(NOVO_CLIENTE, dto);
+    }
+
+    public List<MotivoRejeicao> validar(UpdateClienteDTO dto) {
+        return aplicar(ATUALIZACAO, dto);
+    }
+
+    private static <T> List<MotivoRejeicao> aplicar(List<Regra<T>> regras, T dto) {
+        List<MotivoRejeicao> motivos = null;
+        for (Regra<T> regra : regras) {
+            if (!regra.valido().test(dto)) {
+                if (motivos == null) motivos = new ArrayList<>(regras.size());
+                motivos.add(regra.motivo());
+            }
+        }
+        return motivos != null ? motivos : List.of();
+    }
+
+    // Pelo menos 3 caracteres e algum que não seja espaço
+    static boolean isNomeValido(String nome) {
+        if (nome == null || nome.length() < 3) return false;
+        for (int i = 0, n = nome.length(); i < n; i++) {
+            if (!Character.isWhitespace(nome.charAt(i))) return true;
+        }
+        return false;
+    }
+}
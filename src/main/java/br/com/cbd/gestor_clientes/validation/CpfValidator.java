@@ -0,0 +1,50 @@
+package br.com.cbd.gestor_clientes.validation;
+
+// Validação de CPF em uma única passada, caractere a caractere, sem alocar strings, arrays ou regex.
+// Caracteres que não são dígitos (pontos, hífen, espaços) são ignorados, como no replaceAll("\\D", "") original.
+public final class CpfValidator {
+
+    private CpfValidator() {
+    }
+
+    public static boolean isValido(CharSequence cpf) {
+        if (cpf == null) return false;
+
+        int quantidade = 0;
+        int primeiro = -1;
+        boolean todosIguais = true;
+        int soma1 = 0, soma2 = 0;
+        int digito10 = 0, digito11 = 0;
+
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') continue;
+            int d = c - '0';
+
+            if (quantidade == 0) {
+                primeiro = d;
+            } else if (d != primeiro) {
+                todosIguais = false;
+            }
+
+            if (quantidade < 9) {
+                soma1 += d * (10 - quantidade);
+                soma2 += d * (11 - quantidade);
+            } else if (quantidade == 9) {
+                digito10 = d;
+                soma2 += d * 2;
+            } else if (quantidade == 10) {
+                digito11 = d;
+            } else {
+                return false; // Mais de 11 dígitos
+            }
+            quantidade++;
+        }
+
+        if (quantidade != 11 || todosIguais) return false;
+
+        int mod1 = (soma1 * 10) % 11 % 10;
+        int mod2 = (soma2 * 10) % 11 % 10;
+        return mod1 == digito10 && mod2 == digito11;
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.cbd.gestor_clientes.validation;
+
+// Checagem estrutural de email em uma passada, sem regex: "local@dominio", sem espaços, com um único @,
+// parte local não vazia e domínio com rótulos não vazios separados por ponto (ex.: "maria@teste.com.br").
+// Espaços nas pontas são ignorados, porque o email é gravado sem eles (ClienteNormalizer).
+public final class EmailValidator {
+
+    private static final int TAMANHO_MAXIMO = 254;
+
+    private EmailValidator() {
+    }
+
+    public static boolean isValido(CharSequence email) {
+        if (email == null) return false;
+        int inicio = 0, fim = email.length();
+        while (inicio < fim && Character.isWhitespace(email.charAt(inicio))) inicio++;
+        while (fim > inicio && Character.isWhitespace(email.charAt(fim - 1))) fim--;
+        if (fim - inicio > TAMANHO_MAXIMO) return false;
+
+        int arroba = -1;
+        char anterior = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = email.charAt(i);
+            if (c <= ' ' || c == '(' || c == ')' || c == ',' || c == ';' || c == ':' || c == '<' || c == '>' || c == '"') {
+                return false;
+            }
+            if (c == '@') {
+                if (arroba >= 0 || i == inicio) return false; // Dois @ ou parte local vazia
+                arroba = i;
+            } else if (c == '.' && arroba >= 0 && (anterior == '@' || anterior == '.')) {
+                return false; // Rótulo vazio no domínio
+            }
+            anterior = c;
+        }
+        return arroba >= 0 && arroba < fim - 1 && anterior != '.';
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.cbd.gestor_clientes.validation;
+
+// Telefone no formato DDI+DDD+número, percorrido caractere a caractere. Aceita o mesmo que a regex
+// ^\+\d{2}\s?\(?\d{2}\)?\s?\d{4,5}-?\d{4}$ (a versão anterior exigia ainda um espaço literal antes do número).
+// Ex.: "+55 (11) 98765-4321", "+55(11)987654321", "+55 11 8765-4321".
+public final class TelefoneValidator {
+
+    private TelefoneValidator() {
+    }
+
+    // Telefone é opcional: nulo ou em branco é válido
+    public static boolean isValido(CharSequence telefone) {
+        if (telefone == null || isEmBranco(telefone)) return true;
+
+        int n = telefone.length();
+        int i = 0;
+        if (i == n || telefone.charAt(i++) != '+') return false;
+        if (digitos(telefone, i, n) < 2) return false; // DDI
+        i += 2;
+        if (i < n && isEspaco(telefone.charAt(i))) i++;
+        if (i < n && telefone.charAt(i) == '(') i++;
+        if (digitos(telefone, i, n) < 2) return false; // DDD
+        i += 2;
+        if (i < n && telefone.charAt(i) == ')') i++;
+        if (i < n && isEspaco(telefone.charAt(i))) i++;
+
+        // Número: 4 ou 5 dígitos, hífen e 4 dígitos; ou 8 ou 9 dígitos seguidos
+        int inicio = digitos(telefone, i, n);
+        i += inicio;
+        if (i < n && telefone.charAt(i) == '-') {
+            if (inicio < 4 || inicio > 5) return false;
+            i++;
+            return digitos(telefone, i, n) == 4 && i + 4 == n;
+        }
+        return i == n && (inicio == 8 || inicio == 9);
+    }
+
+    // Quantidade de dígitos consecutivos a partir de "inicio"
+    private static int digitos(CharSequence texto, int inicio, int fim) {
+        int i = inicio;
+        while (i < fim && texto.charAt(i) >= '0' && texto.charAt(i) <= '9') i++;
+        return i - inicio;
+    }
+
+    // Mesmos caracteres de \s
+    private static boolean isEspaco(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isEmBranco(CharSequence texto) {
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            if (!Character.isWhitespace(texto.charAt(i))) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,4 @@
+-- Validador das listagens (ETag/Last-Modified do GET /clientes): count(*) e max(atualizado_em) por status.
+-- Com (status, atualizado_em) as duas agregações saem só do índice, sem ler as linhas da tabela; sem filtro
+-- de status, o max usa o índice idx_cliente_atualizado_em_id (V8).
+CREATE INDEX IF NOT EXISTS idx_cliente_status_atualizado_em ON cliente (status, atualizado_em);
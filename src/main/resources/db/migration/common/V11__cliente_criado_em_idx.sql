@@ -0,0 +1,3 @@
+-- Criações por dia nas estatísticas (ClienteStats): contagem de criado_em nos últimos dias, lida por intervalo
+-- no índice em vez de percorrer a tabela. criado_em nunca é alterado, então o índice não pesa nos UPDATEs.
+CREATE INDEX IF NOT EXISTS idx_cliente_criado_em ON cliente (criado_em);
@@ -0,0 +1,15 @@
+-- Estrutura inicial da tabela cliente (antes gerada por spring.jpa.hibernate.ddl-auto=update).
+-- IF NOT EXISTS permite aplicar a migração em bancos que já foram criados pelo Hibernate.
+CREATE TABLE IF NOT EXISTS cliente (
+    id            BIGINT       NOT NULL,
+    nome          VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    telefone      VARCHAR(255),
+    cpf           VARCHAR(255) NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    criado_em     TIMESTAMP(6) NOT NULL,
+    atualizado_em TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_cliente PRIMARY KEY (id),
+    CONSTRAINT uk_cliente_cpf UNIQUE (cpf),
+    CONSTRAINT uk_cliente_email UNIQUE (email)
+);
@@ -0,0 +1,3 @@
+-- IDs passam a vir de uma sequence com alocação em blocos de 50 (allocationSize do Hibernate),
+-- o que permite ao Hibernate agrupar os INSERTs em lotes JDBC.
+CREATE SEQUENCE IF NOT EXISTS cliente_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Listagem por status em ordem de ID (findByStatusOrderByIdAsc e a paginação por chave com status):
+-- com (status, id) o banco lê só as linhas do status, já na ordem do ORDER BY id, e para no LIMIT.
+CREATE INDEX IF NOT EXISTS idx_cliente_status_id ON cliente (status, id);
@@ -0,0 +1,3 @@
+-- Feed de alterações (GET /clientes/changes): quando o cursor não está mais no buffer em memória, as linhas
+-- são lidas em ordem de (atualizado_em, id) a partir do cursor, com LIMIT, sem varrer a tabela.
+CREATE INDEX IF NOT EXISTS idx_cliente_atualizado_em_id ON cliente (atualizado_em, id);
@@ -0,0 +1,3 @@
+-- Versão do cliente para controle otimista de concorrência (@Version): todo UPDATE grava versao + 1 com
+-- "WHERE id = ? AND versao = ?", e a versão vai para a API como ETag (If-Match em PUT e DELETE).
+ALTER TABLE cliente ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
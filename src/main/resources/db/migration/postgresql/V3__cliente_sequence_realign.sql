@@ -0,0 +1,6 @@
+-- Bancos criados com GenerationType.IDENTITY: remove a identity da coluna id e posiciona a sequence
+-- após o maior id existente. O otimizador "pooled" do Hibernate usa o valor da sequence como limite
+-- superior do bloco, por isso o próximo valor é MAX(id) + 50 (o bloco começa em MAX(id) + 1).
+ALTER TABLE cliente ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('cliente_seq', COALESCE((SELECT MAX(id) FROM cliente), 0) + 50, false);
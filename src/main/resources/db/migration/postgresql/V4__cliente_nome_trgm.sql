@@ -0,0 +1,12 @@
+-- Busca por nome com pg_trgm: índice GIN de trigramas sobre o nome sem acentos e em minúsculas,
+-- usado tanto pelo operador de similaridade (%) quanto por LIKE '%termo%'.
+-- CREATE EXTENSION exige um usuário com permissão no banco (ou as extensões já instaladas pelo DBA).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE; expressões de índice exigem uma função IMMUTABLE com dicionário fixo
+CREATE OR REPLACE FUNCTION gestor_unaccent(texto text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, texto) $$;
+
+CREATE INDEX IF NOT EXISTS idx_cliente_nome_trgm ON cliente USING gin (gestor_unaccent(lower(nome)) gin_trgm_ops);
@@ -0,0 +1,58 @@
+-- CPF e email passam a ser gravados na forma canônica (ClienteNormalizer): CPF como 000.000.000-00 e
+-- email sem espaços nas pontas e em minúsculas. Normaliza as linhas existentes para que as constraints
+-- UNIQUE e as consultas por igualdade enxerguem "11144477735" e "111.444.777-35" como o mesmo CPF.
+-- Linhas cujo valor normalizado já pertence a outro cliente (ou a outra linha que também seria normalizada)
+-- ficam como estão, para não violar a UNIQUE. Para encontrá-las:
+-- SELECT id, cpf, email FROM cliente WHERE cpf !~ '^\d{3}\.\d{3}\.\d{3}-\d{2}$' OR email <> lower(btrim(email));
+WITH normalizados AS (
+    SELECT id, lower(btrim(email)) AS email
+    FROM cliente
+    WHERE email <> lower(btrim(email))
+)
+UPDATE cliente c
+SET email = n.email
+FROM normalizados n
+WHERE c.id = n.id
+  AND NOT EXISTS (SELECT 1 FROM cliente o WHERE o.email = n.email)
+  AND n.email IN (SELECT email FROM normalizados GROUP BY email HAVING count(*) = 1);
+
+WITH digitos AS (
+    SELECT id, regexp_replace(cpf, '\D', '', 'g') AS d
+    FROM cliente
+    WHERE cpf !~ '^\d{3}\.\d{3}\.\d{3}-\d{2}$'
+),
+formatados AS (
+    SELECT id, substr(d, 1, 3) || '.' || substr(d, 4, 3) || '.' || substr(d, 7, 3) || '-' || substr(d, 10, 2) AS cpf
+    FROM digitos
+    WHERE length(d) = 11
+)
+UPDATE cliente c
+SET cpf = f.cpf
+FROM formatados f
+WHERE c.id = f.id
+  AND NOT EXISTS (SELECT 1 FROM cliente o WHERE o.cpf = f.cpf)
+  AND f.cpf IN (SELECT cpf FROM formatados GROUP BY cpf HAVING count(*) = 1);
+
+-- Bancos criados pelo Hibernate têm constraints UNIQUE com nomes gerados (uk_...): troca todas as UNIQUE
+-- de coluna única em cpf/email pelas de nome fixo. Os índices delas atendem a checagem de unicidade do próprio
+-- INSERT/UPDATE (cadastro, atualização e importação) e as consultas em lote da importação,
+-- ClienteRepository.findCpfsExistentes/findEmailsExistentes, que leem só o índice.
+DO $$
+DECLARE
+    restricao record;
+BEGIN
+    FOR restricao IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = 'cliente'::regclass
+          AND con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname IN ('cpf', 'email')
+    LOOP
+        EXECUTE format('ALTER TABLE cliente DROP CONSTRAINT %I', restricao.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE cliente ADD CONSTRAINT uk_cliente_cpf UNIQUE (cpf);
+ALTER TABLE cliente ADD CONSTRAINT uk_cliente_email UNIQUE (email);
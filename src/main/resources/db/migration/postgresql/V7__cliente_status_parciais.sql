@@ -0,0 +1,6 @@
+-- Índices parciais para os status consultados com frequência: menores que idx_cliente_status_id
+-- porque guardam só o id das linhas do status (INATIVO, que tende a crescer, fica de fora).
+-- O planejador só usa um índice parcial quando o valor de status é conhecido no plano: consultas
+-- preparadas com plano genérico (plan_cache_mode) continuam usando idx_cliente_status_id.
+CREATE INDEX IF NOT EXISTS idx_cliente_ativo_id ON cliente (id) WHERE status = 'ATIVO';
+CREATE INDEX IF NOT EXISTS idx_cliente_prospect_id ON cliente (id) WHERE status = 'PROSPECT';
@@ -0,0 +1,47 @@
+package br.com.cbd.gestor_clientes;
+
+import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Dados únicos para os testes que gravam no H2 compartilhado entre as classes: cada chamada devolve um CPF válido,
+// um email ou um nome que nenhum outro teste da mesma JVM recebe, sem faixas combinadas à mão entre as classes.
+// Os CPFs vêm do CpfGenerator com base 900.000.000, fora da massa dos testes de desempenho (base 100.000.000).
+public final class ClientesDeTeste {
+
+	private static final long BASE_CPF = 900_000_000L;
+
+	private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+	private ClientesDeTeste() {
+	}
+
+	public static String cpf() {
+		return CpfGenerator.gerar(BASE_CPF, SEQUENCIA.getAndIncrement());
+	}
+
+	public static String email(String prefixo) {
+		return prefixo + "." + SEQUENCIA.getAndIncrement() + "@teste.com";
+	}
+
+	// Prefixo mais um sufixo só de letras: filtros e buscas por nome não pegam clientes de outros testes
+	public static String nome(String prefixo) {
+		StringBuilder sufixo = new StringBuilder();
+		long n = SEQUENCIA.getAndIncrement();
+		do {
+			sufixo.append((char) ('a' + n % 26));
+			n /= 26;
+		} while (n > 0);
+		return prefixo + " " + sufixo;
+	}
+
+	// Cadastro válido com o nome e o status informados, CPF e email únicos
+	public static CreateClienteDTO novo(String nome, String status) {
+		CreateClienteDTO dto = new CreateClienteDTO();
+		dto.setNome(nome);
+		dto.setEmail(email("cliente"));
+		dto.setCpf(cpf());
+		dto.setStatus(status);
+		return dto;
+	}
+}
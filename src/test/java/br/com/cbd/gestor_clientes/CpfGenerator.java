@@ -0,0 +1,41 @@
+package br.com.cbd.gestor_clientes;
+
+// Gera CPFs válidos e determinísticos para massa de testes: o n-ésimo CPF de uma base é sempre o mesmo.
+// Os 9 primeiros dígitos são base + n. A base padrão, 100.000.000, é a da massa dos testes de desempenho e evita
+// bases com todos os dígitos iguais até n = 11.111.110; outras bases separam a massa de outros testes.
+public final class CpfGenerator {
+
+	public static final long BASE_PADRAO = 100_000_000L;
+	public static final long MAXIMO = 11_111_111L;
+
+	private CpfGenerator() {
+	}
+
+	public static String gerar(long n) {
+		if (n < 0 || n >= MAXIMO) {
+			throw new IllegalArgumentException("n deve estar entre 0 e " + (MAXIMO - 1));
+		}
+		return gerar(BASE_PADRAO, n);
+	}
+
+	public static String gerar(long base, long n) {
+		long digitos = base + n;
+		if (base < BASE_PADRAO || n < 0 || digitos > 999_999_998L) {
+			throw new IllegalArgumentException("base + n deve ter 9 dígitos, entre " + BASE_PADRAO + " e 999999998");
+		}
+		int[] d = new int[11];
+		for (int i = 8; i >= 0; i--) {
+			d[i] = (int) (digitos % 10);
+			digitos /= 10;
+		}
+		int soma1 = 0, soma2 = 0;
+		for (int i = 0; i < 9; i++) {
+			soma1 += d[i] * (10 - i);
+			soma2 += d[i] * (11 - i);
+		}
+		d[9] = (soma1 * 10) % 11 % 10;
+		soma2 += d[9] * 2;
+		d[10] = (soma2 * 10) % 11 % 10;
+		return String.format("%d%d%d.%d%d%d.%d%d%d-%d%d", d[0], d[1], d[2], d[3], d[4], d[5], d[6], d[7], d[8], d[9], d[10]);
+	}
+}
@@ -0,0 +1,132 @@
+package br.com.cbd.gestor_clientes.benchmark;
+
+import br.com.cbd.gestor_clientes.GestorClientesApplication;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.repository.ClienteRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Lista de 10 mil clientes em JSON, CBOR e Smile, com e sem gzip: serializar() mede só a escrita (e a compactação),
+// requisicao() mede o GET /clientes de ponta a ponta, incluindo a leitura da resposta no cliente.
+// O tamanho de cada corpo é impresso no início de cada combinação.
+// Roda com: mvn -Pperf verify -Djmh.args="ClienteFormatoBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteFormatoBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteFormatoBenchmark.class);
+
+    private static final int CLIENTES = 10_000;
+    private static final TypeReference<List<ClienteDTO>> LISTA = new TypeReference<>() {
+    };
+
+    @Param({"application/json", "application/cbor", "application/x-jackson-smile"})
+    public String formato;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ConfigurableApplicationContext contexto;
+    private ObjectMapper mapper;
+    private List<ClienteDTO> lista;
+    private HttpClient http;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        contexto = new SpringApplicationBuilder(GestorClientesApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "management.tracing.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-formato;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE")
+                .run();
+        mapper = switch (formato) {
+            case "application/cbor" -> contexto.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "application/x-jackson-smile" -> contexto.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> contexto.getBean(ObjectMapper.class);
+        };
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> linhas = new ArrayList<>(CLIENTES);
+        for (long id = 1; id <= CLIENTES; id++) {
+            String status = id % 10 < 7 ? "ATIVO" : id % 10 < 9 ? "PROSPECT" : "INATIVO";
+            linhas.add(new Object[]{id, "Cliente de Formato " + id, "formato" + id + "@benchmark.test",
+                    "+55 (11) 98765-4321", String.format("%011d", id), status, agora, agora});
+        }
+        contexto.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO cliente (id, nome, email, telefone, cpf, status, criado_em, atualizado_em, versao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                linhas);
+        lista = contexto.getBean(ClienteRepository.class).findAllByOrderByIdAsc(ClienteDTO.class);
+
+        http = HttpClient.newHttpClient();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/clientes"))
+                .header("Accept", formato)
+                .GET();
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        request = builder.build();
+
+        log.info("{}{}: {} bytes para {} clientes", formato, gzip ? " + gzip" : "", serializar().length, lista.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        byte[] corpo = mapper.writeValueAsBytes(lista);
+        if (!gzip) return corpo;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(corpo.length / 4);
+        try (GZIPOutputStream compactado = new GZIPOutputStream(out)) {
+            compactado.write(corpo);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<ClienteDTO> requisicao() throws Exception {
+        HttpResponse<byte[]> resposta = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("GET /clientes respondeu " + resposta.statusCode());
+        }
+        boolean compactado = resposta.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent();
+        try (InputStream in = compactado
+                ? new GZIPInputStream(new ByteArrayInputStream(resposta.body()))
+                : new ByteArrayInputStream(resposta.body())) {
+            return mapper.readValue(in, LISTA);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.cbd.gestor_clientes.benchmark;
+
+import br.com.cbd.gestor_clientes.GestorClientesApplication;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.entity.Cliente;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.repository.ClienteRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Leituras do ClienteService com entidade gerenciada + cópia para o DTO (caminho anterior) contra a projeção
+// por construtor direto no ClienteDTO, no H2 do perfil de testes. A transação de escrita no caminho de entidade
+// reproduz o custo do contexto de persistência: snapshot de cada entidade e dirty checking no flush.
+// Para medir alocação: mvn -Pperf verify -Djmh.args="ClienteLeituraBenchmark -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteLeituraBenchmark {
+
+    private static final int CLIENTES = 10_000;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteRepository repository;
+    private TransactionTemplate transacao;
+    private long proximoId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(GestorClientesApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark-leitura;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE")
+                .run();
+        repository = contexto.getBean(ClienteRepository.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        // 70% ATIVO, 20% PROSPECT, 10% INATIVO
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> linhas = new ArrayList<>(CLIENTES);
+        for (long id = 1; id <= CLIENTES; id++) {
+            String status = id % 10 < 7 ? "ATIVO" : id % 10 < 9 ? "PROSPECT" : "INATIVO";
+            linhas.add(new Object[]{id, "Cliente de Leitura " + id, "leitura" + id + "@benchmark.test",
+                    "+55 (11) 98765-4321", String.format("%011d", id), status, agora, agora});
+        }
+        contexto.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO cliente (id, nome, email, telefone, cpf, status, criado_em, atualizado_em, versao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                linhas);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private long id() {
+        proximoId = proximoId % CLIENTES + 1;
+        return proximoId;
+    }
+
+    @Benchmark
+    public ClienteDTO entidadePorId() {
+        long id = id();
+        return transacao.execute(s -> mapear(repository.findById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public ClienteDTO projecaoPorId() {
+        return repository.findProjectionById(id(), ClienteDTO.class).orElseThrow();
+    }
+
+    @Benchmark
+    public List<ClienteDTO> entidadePagina() {
+        long afterId = id();
+        return transacao.execute(s -> repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(100), Cliente.class)
+                .stream().map(ClienteLeituraBenchmark::mapear).toList());
+    }
+
+    @Benchmark
+    public List<ClienteDTO> projecaoPagina() {
+        return repository.findByIdGreaterThanOrderByIdAsc(id(), Limit.of(100), ClienteDTO.class);
+    }
+
+    @Benchmark
+    public List<ClienteDTO> entidadeListaPorStatus() {
+        return transacao.execute(s -> repository.findByStatusOrderByIdAsc(StatusCliente.PROSPECT, Cliente.class)
+                .stream().map(ClienteLeituraBenchmark::mapear).toList());
+    }
+
+    @Benchmark
+    public List<ClienteDTO> projecaoListaPorStatus() {
+        return repository.findByStatusOrderByIdAsc(StatusCliente.PROSPECT, ClienteDTO.class);
+    }
+
+    // Equivalente ao mapToDTO que o ClienteService usava nas leituras
+    private static ClienteDTO mapear(Cliente cliente) {
+        return new ClienteDTO(cliente.getId(), cliente.getNome(), cliente.getEmail(), cliente.getTelefone(),
+                cliente.getCpf(), cliente.getStatus(), cliente.getCriadoEm(), cliente.getAtualizadoEm(), cliente.getVersao());
+    }
+}
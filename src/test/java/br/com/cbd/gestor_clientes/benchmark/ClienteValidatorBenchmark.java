@@ -0,0 +1,78 @@
+package br.com.cbd.gestor_clientes.benchmark;
+
+import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import br.com.cbd.gestor_clientes.validation.ClienteValidator;
+import br.com.cbd.gestor_clientes.validation.CpfValidator;
+import br.com.cbd.gestor_clientes.validation.EmailValidator;
+import br.com.cbd.gestor_clientes.validation.TelefoneValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Validação de um cliente pela cadeia do ClienteValidator contra as checagens anteriores do ClienteService
+// (String.matches no telefone, List.of(...).contains(status.toUpperCase())), e cada validador isolado.
+// Para medir alocação: mvn -Pperf verify -Djmh.args="ClienteValidatorBenchmark -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteValidatorBenchmark {
+
+    @Param({"valido", "invalido"})
+    public String caso;
+
+    private final ClienteValidator validator = new ClienteValidator();
+    private CreateClienteDTO dto;
+
+    @Setup
+    public void preparar() {
+        dto = new CreateClienteDTO();
+        if (caso.equals("valido")) {
+            dto.setNome("Maria Silva");
+            dto.setEmail("maria@teste.com");
+            dto.setCpf("111.444.777-35");
+            dto.setTelefone("+55 (11) 98765-4321");
+            dto.setStatus("prospect");
+        } else {
+            dto.setNome("Ma");
+            dto.setEmail("maria@teste..com");
+            dto.setCpf("111.444.777-36");
+            dto.setTelefone("+55 (11) 98765-432");
+            dto.setStatus("BLOQUEADO");
+        }
+    }
+
+    @Benchmark
+    public List<MotivoRejeicao> cadeia() {
+        return validator.validar(dto);
+    }
+
+    @Benchmark
+    public boolean implementacaoAnterior() {
+        // Cópia das validações originais, que paravam na primeira falha
+        if (dto.getNome() == null || dto.getNome().length() < 3) return false;
+        if (!CpfValidator.isValido(dto.getCpf())) return false;
+        if (dto.getTelefone() != null && !dto.getTelefone().isBlank()
+                && !dto.getTelefone().matches("^\\+\\d{2}\\s?\\(?\\d{2}\\)?\\s? \\d{4,5}-?\\d{4}$")) return false;
+        return List.of("ATIVO", "INATIVO", "PROSPECT").contains(dto.getStatus().toUpperCase());
+    }
+
+    @Benchmark
+    public boolean telefone() {
+        return TelefoneValidator.isValido(dto.getTelefone());
+    }
+
+    @Benchmark
+    public boolean telefoneRegexAnterior() {
+        return dto.getTelefone().matches("^\\+\\d{2}\\s?\\(?\\d{2}\\)?\\s? \\d{4,5}-?\\d{4}$");
+    }
+
+    @Benchmark
+    public boolean email() {
+        return EmailValidator.isValido(dto.getEmail());
+    }
+}
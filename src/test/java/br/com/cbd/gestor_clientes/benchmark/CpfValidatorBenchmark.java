@@ -0,0 +1,53 @@
+package br.com.cbd.gestor_clientes.benchmark;
+
+import br.com.cbd.gestor_clientes.validation.CpfValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Compara o validador de CPF em passada única com a implementação anterior (regex + array de dígitos).
+// Para medir alocação: mvn -Pperf verify -Djmh.args="CpfValidatorBenchmark -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CpfValidatorBenchmark {
+
+    @Param({"111.444.777-35", "11144477735", "111.111.111-11", "123.456.789-00"})
+    public String cpf;
+
+    @Benchmark
+    public boolean passadaUnica() {
+        return CpfValidator.isValido(cpf);
+    }
+
+    @Benchmark
+    public boolean implementacaoAnterior() {
+        return isCpfValidoAnterior(cpf);
+    }
+
+    // Cópia da implementação original de ClienteService.isCpfValido
+    private static boolean isCpfValidoAnterior(String cpf) {
+        cpf = cpf.replaceAll("\\D", "");
+        if (cpf.length() != 11 || cpf.matches("(\\d)\\1{10}")) return false;
+
+        try {
+            int[] digits = cpf.chars().map(c -> c - '0').toArray();
+            int sum1 = 0, sum2 = 0;
+            for (int i = 0; i < 9; i++) {
+                sum1 += digits[i] * (10 - i);
+                sum2 += digits[i] * (11 - i);
+            }
+            sum2 += digits[9] * 2;
+
+            int mod1 = (sum1 * 10) % 11 % 10;
+            int mod2 = (sum2 * 10) % 11 % 10;
+
+            return mod1 == digits[9] && mod2 == digits[10];
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
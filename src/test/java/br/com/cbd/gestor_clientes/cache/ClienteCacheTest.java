@@ -0,0 +1,60 @@
+package br.com.cbd.gestor_clientes.cache;
+
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.feed.ClienteAlteradoEvent;
+import br.com.cbd.gestor_clientes.feed.TipoAlteracao;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ClienteCacheTest {
+
+	private final ClienteCache cache = new ClienteCache(new CaffeineCacheManager(ClienteCache.CLIENTES));
+
+	@Test
+	void leituraAntigaNaoSobrescreveAtualizacaoConfirmadaDuranteACarga() {
+		ClienteDTO lido = cliente(1L, StatusCliente.ATIVO, 0);
+		ClienteDTO atualizado = cliente(1L, StatusCliente.PROSPECT, 1);
+
+		// A linha foi lida na versão 0; antes de a carga guardar, o commit da versão 1 chega ao cache
+		cache.buscar(1L, () -> {
+			cache.registrar(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, atualizado, StatusCliente.ATIVO));
+			return lido;
+		});
+
+		assertEquals(atualizado, cache.buscar(1L, () -> fail("Deveria vir do cache")));
+	}
+
+	@Test
+	void eventoForaDeOrdemNaoVoltaAVersao() {
+		ClienteDTO v2 = cliente(2L, StatusCliente.PROSPECT, 2);
+		ClienteDTO v1 = cliente(2L, StatusCliente.ATIVO, 1);
+
+		cache.registrar(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, v2, StatusCliente.ATIVO));
+		cache.registrar(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, v1, StatusCliente.INATIVO));
+
+		assertEquals(v2, cache.buscar(2L, () -> fail("Deveria vir do cache")));
+	}
+
+	@Test
+	void clienteCriadoSoEntraNoCacheNaPrimeiraLeitura() {
+		ClienteDTO criado = cliente(3L, StatusCliente.ATIVO, 0);
+		cache.registrar(ClienteAlteradoEvent.criado(criado));
+
+		// Carga com outro conteúdo só para distinguir: se o evento tivesse guardado o cliente, o carregador não rodaria
+		ClienteDTO lido = cliente(3L, StatusCliente.PROSPECT, 0);
+		assertEquals(lido, cache.buscar(3L, () -> lido));
+		assertEquals(lido, cache.buscar(3L, () -> fail("Deveria vir do cache")));
+	}
+
+	private static ClienteDTO cliente(Long id, StatusCliente status, long versao) {
+		LocalDateTime agora = LocalDateTime.of(2025, 1, 1, 12, 0);
+		return new ClienteDTO(id, "Cliente " + id, "cliente" + id + "@teste.com", null, "111.444.777-35",
+				status, agora, agora.plusMinutes(versao), versao);
+	}
+}
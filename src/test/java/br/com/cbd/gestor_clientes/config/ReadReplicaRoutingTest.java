@@ -0,0 +1,150 @@
+package br.com.cbd.gestor_clientes.config;
+
+import br.com.cbd.gestor_clientes.ClientesDeTeste;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dois H2 no lugar de primário e réplica (a réplica recebe as migrações, mas não as gravações da API) e uma segunda
+// réplica fora do ar: o que só existe na réplica aparece nas leituras, o que só existe no primário só aparece
+// com o cookie de leitura das próprias gravações
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primario-replicas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+		"gestor.datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA + "," + ReadReplicaRoutingTest.FORA_DO_AR,
+		"gestor.datasource.replicas.espera-conexao=500ms",
+		"gestor.datasource.replicas.verificacao=1h"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+	static final String REPLICA = "jdbc:h2:mem:replica-leitura;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+	static final String FORA_DO_AR = "jdbc:h2:tcp://localhost:1/fora-do-ar";
+
+	private static final long SO_NA_REPLICA = 900_001L;
+
+	static {
+		Flyway.configure().dataSource(REPLICA, "sa", "").locations("classpath:db/migration/common").load().migrate();
+		try (Connection conexao = DriverManager.getConnection(REPLICA, "sa", "");
+			 Statement comando = conexao.createStatement()) {
+			comando.executeUpdate("INSERT INTO cliente (id, nome, email, telefone, cpf, status, criado_em, atualizado_em, versao) "
+					+ "VALUES (" + SO_NA_REPLICA + ", 'Somente na Replica', 'replica@teste.com', NULL, '" + ClientesDeTeste.cpf()
+					+ "', 'ATIVO', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)");
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private ReplicaPools replicas;
+
+	@Test
+	void leiturasVaoParaAReplicaSaudavel() throws Exception {
+		// Duas leituras passam pelas duas posições do rodízio: a réplica fora do ar sai dele, e a leitura segue pela outra
+		for (int i = 0; i < 2; i++) {
+			assertEquals(List.of(SO_NA_REPLICA), ids(mvc.perform(get("/clientes").param("afterId", "900000").param("limit", "10"))
+					.andExpect(status().isOk()).andReturn()));
+		}
+		assertTrue(replicas.isSaudavel(0));
+		assertFalse(replicas.isSaudavel(1));
+	}
+
+	@Test
+	void depoisDeUmaEscritaOCookieLeDoPrimario() throws Exception {
+		MvcResult criado = mvc.perform(post("/clientes")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(Map.of(
+								"nome", "Gravado no Primario",
+								"email", "primario@teste.com",
+								"cpf", ClientesDeTeste.cpf(),
+								"status", "ATIVO"))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		long id = mapper.readTree(criado.getResponse().getContentAsString()).get("id").asLong();
+		Cookie cookie = cookie(criado);
+
+		List<Long> doPrimario = ids(mvc.perform(get("/clientes").param("afterId", String.valueOf(id - 1)).param("limit", "1").cookie(cookie))
+				.andExpect(status().isOk()).andReturn());
+		assertEquals(List.of(id), doPrimario);
+
+		List<Long> daReplica = ids(mvc.perform(get("/clientes").param("afterId", String.valueOf(id - 1)).param("limit", "1"))
+				.andExpect(status().isOk()).andReturn());
+		assertFalse(daReplica.contains(id));
+	}
+
+	@Test
+	void streamingComCookieLeDoPrimarioSemVazarParaAProximaRequisicao() throws Exception {
+		MvcResult criado = mvc.perform(post("/clientes")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(Map.of(
+								"nome", "Gravado Antes do Stream",
+								"email", "stream-primario@teste.com",
+								"cpf", ClientesDeTeste.cpf(),
+								"status", "ATIVO"))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		long id = mapper.readTree(criado.getResponse().getContentAsString()).get("id").asLong();
+
+		MvcResult stream = mvc.perform(get("/clientes/stream").cookie(cookie(criado)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		// A mesma thread atende outra requisição, sem cookie, antes do corpo do stream terminar: lê da réplica
+		List<Long> daReplica = ids(mvc.perform(get("/clientes").param("afterId", String.valueOf(id - 1)).param("limit", "1"))
+				.andExpect(status().isOk()).andReturn());
+		assertFalse(daReplica.contains(id));
+
+		// O corpo é escrito na thread do executor assíncrono, que recebe a decisão da requisição
+		String ndjson = mvc.perform(asyncDispatch(stream)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		assertTrue(ndjson.lines().anyMatch(linha -> linha.contains("\"id\":" + id + ",")), ndjson);
+	}
+
+	private static Cookie cookie(MvcResult resultado) {
+		String setCookie = resultado.getResponse().getHeader(HttpHeaders.SET_COOKIE);
+		assertNotNull(setCookie);
+		assertTrue(setCookie.startsWith(ReadYourWritesInterceptor.COOKIE + "="), setCookie);
+		String valor = setCookie.substring(ReadYourWritesInterceptor.COOKIE.length() + 1, setCookie.indexOf(';'));
+		return new Cookie(ReadYourWritesInterceptor.COOKIE, valor);
+	}
+
+	private List<Long> ids(MvcResult resultado) throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (JsonNode cliente : mapper.readTree(resultado.getResponse().getContentAsString())) {
+			ids.add(cliente.get("id").asLong());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,129 @@
+package br.com.cbd.gestor_clientes.controller;
+
+import br.com.cbd.gestor_clientes.ClientesDeTeste;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClienteControllerCondicionalTest {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Test
+	void clienteSemMudancaResponde304() throws Exception {
+		MvcResult criado = criar("PROSPECT");
+		long id = mapper.readTree(criado.getResponse().getContentAsString()).get("id").asLong();
+		String etag = criado.getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get("/clientes/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+
+		String novaEtag = mvc.perform(put("/clientes/{id}", id)
+						.header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(Map.of("nome", "Nome Alterado", "email", email(id), "status", "ATIVO"))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, novaEtag);
+
+		mvc.perform(get("/clientes/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, novaEtag));
+		mvc.perform(put("/clientes/{id}", id)
+						.header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(Map.of("nome", "Outro Nome", "email", email(id), "status", "ATIVO"))))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void cadaRepresentacaoTemSuaEtag() throws Exception {
+		MvcResult criado = criar("PROSPECT");
+		long id = mapper.readTree(criado.getResponse().getContentAsString()).get("id").asLong();
+		String etagJson = criado.getResponse().getHeader(HttpHeaders.ETAG);
+
+		// A ETag do JSON não vale para os bytes CBOR
+		String etagCbor = mvc.perform(get("/clientes/{id}", id).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagJson))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etagJson, etagCbor);
+		mvc.perform(get("/clientes/{id}", id).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+				.andExpect(status().isNotModified());
+
+		// If-Match aceita a ETag de qualquer representação: a pré-condição é a versão
+		mvc.perform(put("/clientes/{id}", id)
+						.header(HttpHeaders.IF_MATCH, etagCbor)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(Map.of("nome", "Nome Alterado", "email", email(id), "status", "ATIVO"))))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void listaMudaDeEtagQuandoUmClienteDoFiltroMuda() throws Exception {
+		criar("INATIVO");
+		String etag = mvc.perform(get("/clientes").param("status", "INATIVO").param("limit", "10"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get("/clientes").param("status", "INATIVO").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		// Sem Last-Modified na lista, If-Modified-Since (mesmo no futuro) não gera 304
+		mvc.perform(get("/clientes").param("status", "INATIVO").param("limit", "10")
+						.header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2099 00:00:00 GMT"))
+				.andExpect(status().isOk());
+		// Outros parâmetros, outra lista
+		String outraPagina = mvc.perform(get("/clientes").param("status", "INATIVO").param("limit", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, outraPagina);
+
+		criar("INATIVO");
+		String depois = mvc.perform(get("/clientes").param("status", "INATIVO").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, depois);
+		assertEquals(depois, mvc.perform(get("/clientes").param("status", "INATIVO").param("limit", "10"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+	}
+
+	private MvcResult criar(String status) throws Exception {
+		return mvc.perform(post("/clientes")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(ClientesDeTeste.novo("Cliente Condicional", status))))
+				.andExpect(status().isCreated())
+				.andReturn();
+	}
+
+	private String email(long id) throws Exception {
+		return mapper.readTree(mvc.perform(get("/clientes/{id}", id)).andReturn().getResponse().getContentAsString()).get("email").asText();
+	}
+}
@@ -0,0 +1,123 @@
+package br.com.cbd.gestor_clientes.controller;
+
+import br.com.cbd.gestor_clientes.ClientesDeTeste;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClienteControllerFormatoTest {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private MappingJackson2CborHttpMessageConverter cbor;
+
+	@Autowired
+	private MappingJackson2SmileHttpMessageConverter smile;
+
+	@Test
+	void clienteEmJsonCborESmileTemOMesmoConteudo() throws Exception {
+		long id = criar();
+
+		MvcResult json = mvc.perform(get("/clientes/{id}", id).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+				.andReturn();
+		// No JSON as datas continuam no formato legível da API
+		JsonNode arvore = mapper.readTree(json.getResponse().getContentAsString());
+		assertTrue(arvore.get("criadoEm").asText().matches("\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}"), arvore.toString());
+		ClienteDTO esperado = mapper.readValue(json.getResponse().getContentAsByteArray(), ClienteDTO.class);
+
+		byte[] corpoCbor = mvc.perform(get("/clientes/{id}", id).accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+		ClienteDTO emCbor = cbor.getObjectMapper().readValue(corpoCbor, ClienteDTO.class);
+
+		byte[] corpoSmile = mvc.perform(get("/clientes/{id}", id).accept(SMILE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(SMILE))
+				.andReturn().getResponse().getContentAsByteArray();
+		ClienteDTO emSmile = smile.getObjectMapper().readValue(corpoSmile, ClienteDTO.class);
+
+		// O JSON trunca os segundos; os binários levam a data completa
+		assertEquals(esperado, semFracao(emCbor));
+		assertEquals(esperado, semFracao(emSmile));
+		assertTrue(corpoCbor.length < json.getResponse().getContentAsByteArray().length);
+	}
+
+	@Test
+	void listaEmCbor() throws Exception {
+		long id = criar();
+
+		byte[] corpo = mvc.perform(get("/clientes").param("afterId", String.valueOf(id - 1)).param("limit", "1").accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+		List<ClienteDTO> lista = cbor.getObjectMapper().readValue(corpo, new TypeReference<>() {
+		});
+
+		assertEquals(1, lista.size());
+		assertEquals(id, lista.get(0).id());
+	}
+
+	@Test
+	void exportaComGzipSoQuandoOAcceptEncodingAceita() throws Exception {
+		for (String aceito : List.of("gzip", "deflate, gzip;q=0.5", "br, *", "GZIP ; q=1.0")) {
+			mvc.perform(get("/clientes/export").param("nome", "nenhum cliente").header(HttpHeaders.ACCEPT_ENCODING, aceito))
+					.andExpect(status().isOk())
+					.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+		}
+		for (String recusado : List.of("gzip;q=0", "identity", "x-nogzip", "*;q=0", "br, *, gzip;q=0")) {
+			mvc.perform(get("/clientes/export").param("nome", "nenhum cliente").header(HttpHeaders.ACCEPT_ENCODING, recusado))
+					.andExpect(status().isOk())
+					.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+		}
+	}
+
+	private long criar() throws Exception {
+		MvcResult criado = mvc.perform(post("/clientes")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(ClientesDeTeste.novo("Cliente Formato", "ATIVO"))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return mapper.readTree(criado.getResponse().getContentAsString()).get("id").asLong();
+	}
+
+	private static ClienteDTO semFracao(ClienteDTO c) {
+		return new ClienteDTO(c.id(), c.nome(), c.email(), c.telefone(), c.cpf(), c.status(),
+				c.criadoEm().withNano(0), c.atualizadoEm().withNano(0), c.versao());
+	}
+}
@@ -0,0 +1,107 @@
+package br.com.cbd.gestor_clientes.feed;
+
+import br.com.cbd.gestor_clientes.dto.AlteracoesDTO;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ClienteChangeFeedTest {
+
+	private static final LocalDateTime AGORA = LocalDateTime.of(2025, 8, 20, 18, 34, 0, 123_456_000);
+
+	private ClienteChangeFeed feed;
+	private ClienteJdbcRepository jdbcRepository;
+
+	@BeforeEach
+	void setUp() {
+		feed = new ClienteChangeFeed(3);
+		jdbcRepository = mock(ClienteJdbcRepository.class);
+		ReflectionTestUtils.setField(feed, "jdbcRepository", jdbcRepository);
+	}
+
+	@Test
+	void cursorIdaEVolta() {
+		CursorAlteracao cursor = new CursorAlteracao("abc", 7, AGORA, 42);
+		assertEquals(cursor, CursorAlteracao.ler(cursor.toString()));
+		CursorAlteracao semSequencia = new CursorAlteracao("abc", CursorAlteracao.SEM_SEQUENCIA, AGORA, 42);
+		assertEquals(semSequencia, CursorAlteracao.ler(semSequencia.toString()));
+		assertThrows(IllegalArgumentException.class, () -> CursorAlteracao.ler("abc:1:x:2"));
+		assertThrows(IllegalArgumentException.class, () -> CursorAlteracao.ler("abc"));
+	}
+
+	@Test
+	void continuaPeloBufferAPartirDoCursor() {
+		feed.registrar(evento(TipoAlteracao.CRIADO, 1L));
+		AlteracoesDTO primeira = feed.desde(null, 10);
+		String cursor = primeira.cursor();
+
+		feed.registrar(evento(TipoAlteracao.ATUALIZADO, 1L));
+		feed.registrar(evento(TipoAlteracao.INATIVADO, 2L));
+		AlteracoesDTO segunda = feed.desde(cursor, 10);
+
+		assertEquals(List.of(TipoAlteracao.ATUALIZADO, TipoAlteracao.INATIVADO),
+				segunda.alteracoes().stream().map(a -> a.tipo()).toList());
+		assertEquals(segunda.alteracoes().get(1).cursor(), segunda.cursor());
+		assertTrue(feed.desde(segunda.cursor(), 10).alteracoes().isEmpty());
+	}
+
+	@Test
+	void voltaAoBancoQuandoOCursorSaiuDoBuffer() {
+		feed.registrar(evento(TipoAlteracao.CRIADO, 1L));
+		String cursor = feed.desde(null, 10).cursor();
+		feed.registrar(evento(TipoAlteracao.CRIADO, 2L));
+		String noBuffer = feed.desde(cursor, 10).cursor();
+		for (long id = 3; id <= 6; id++) {
+			feed.registrar(evento(TipoAlteracao.CRIADO, id));
+		}
+		when(jdbcRepository.findAlteradosDepois(eq(AGORA), eq(2L), eq(10))).thenReturn(List.of(cliente(3L), cliente(4L)));
+
+		AlteracoesDTO peloBanco = feed.desde(noBuffer, 10);
+
+		assertEquals(List.of(3L, 4L), peloBanco.alteracoes().stream().map(a -> a.cliente().id()).toList());
+		// Fim da tabela: o cursor volta a apontar para o buffer (sequência 6)
+		assertEquals(6, CursorAlteracao.ler(peloBanco.cursor()).sequencia());
+	}
+
+	@Test
+	void cursorDeOutraInstanciaLeDoBanco() {
+		feed.registrar(evento(TipoAlteracao.CRIADO, 1L));
+		when(jdbcRepository.findAlteradosDepois(eq(AGORA), eq(1L), anyInt())).thenReturn(List.of());
+
+		feed.desde(new CursorAlteracao("outra", 1, AGORA, 1).toString(), 10);
+
+		verify(jdbcRepository).findAlteradosDepois(eq(AGORA), anyLong(), eq(10));
+	}
+
+	@Test
+	void rejeitaLimiteForaDoIntervalo() {
+		assertThrows(IllegalArgumentException.class, () -> feed.desde(null, 0));
+		verifyNoInteractions(jdbcRepository);
+	}
+
+	private static ClienteAlteradoEvent evento(TipoAlteracao tipo, long id) {
+		return new ClienteAlteradoEvent(tipo, cliente(id), null);
+	}
+
+	private static ClienteDTO cliente(long id) {
+		return new ClienteDTO(id, "Cliente " + id, "cliente" + id + "@teste.com", null, "111.444.777-35",
+				StatusCliente.ATIVO, AGORA, AGORA, 0L);
+	}
+}
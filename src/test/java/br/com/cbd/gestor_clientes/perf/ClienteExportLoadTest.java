@@ -0,0 +1,120 @@
+package br.com.cbd.gestor_clientes.perf;
+
+import br.com.cbd.gestor_clientes.GestorClientesApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Vazão da leitura da base inteira: lista JSON (GET /clientes), NDJSON (/clientes/stream) e CSV com e sem gzip
+// (/clientes/export), com o volume transferido e o pico de heap acima do ocioso durante cada resposta, sobre a massa
+// do MassaClientes. Resultado em target/perf/exportacao.json.
+// Roda com: mvn -Pperf verify -Dperf.exportacao.clientes=1000000
+// (no PostgreSQL: -Dperf.postgres.url=jdbc:postgresql://localhost:5432/gestor-perf -Dperf.postgres.usuario=... -Dperf.postgres.senha=...)
+@Tag("perf")
+class ClienteExportLoadTest {
+
+	private static final int CLIENTES = Integer.getInteger("perf.exportacao.clientes", 1_000_000);
+	private static final String URL = System.getProperty("perf.postgres.url");
+
+	private record Cenario(String nome, String caminho, boolean gzip) {
+	}
+
+	record Medida(double segundos, double megabytes, double linhasPorSegundo, double heapMb) {
+	}
+
+	private static final List<Cenario> CENARIOS = List.of(
+			new Cenario("GET /clientes (JSON)", "/clientes", false),
+			new Cenario("GET /clientes/stream (NDJSON)", "/clientes/stream", false),
+			new Cenario("GET /clientes/export (CSV)", "/clientes/export", false),
+			new Cenario("GET /clientes/export (CSV gzip)", "/clientes/export", true));
+
+	@Test
+	void vazaoDaExportacao() throws Exception {
+		List<String> propriedades = new ArrayList<>(List.of("server.port=0", "management.tracing.enabled=false"));
+		if (URL != null) {
+			propriedades.add("spring.datasource.url=" + URL);
+			propriedades.add("spring.datasource.username=" + System.getProperty("perf.postgres.usuario", "postgres"));
+			propriedades.add("spring.datasource.password=" + System.getProperty("perf.postgres.senha", "postgres"));
+		} else {
+			propriedades.add("spring.datasource.url=jdbc:h2:mem:exportacao;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE");
+		}
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(GestorClientesApplication.class)
+				.properties(propriedades.toArray(String[]::new));
+		if (URL == null) {
+			builder.profiles("test");
+		}
+
+		try (ConfigurableApplicationContext contexto = builder.run()) {
+			MassaClientes.semear(contexto.getBean(JdbcTemplate.class), CLIENTES);
+			String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+			HttpClient http = HttpClient.newHttpClient();
+
+			Map<String, Medida> medidas = new LinkedHashMap<>();
+			for (Cenario cenario : CENARIOS) {
+				baixar(http, base, cenario); // Aquecimento
+				System.gc();
+				MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+				long ocioso = memoria.getHeapMemoryUsage().getUsed();
+				AtomicLong pico = new AtomicLong(ocioso);
+				AtomicBoolean medindo = new AtomicBoolean(true);
+				Thread amostrador = Thread.ofVirtual().start(() -> {
+					while (medindo.get()) {
+						pico.accumulateAndGet(memoria.getHeapMemoryUsage().getUsed(), Math::max);
+						try {
+							Thread.sleep(10);
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				});
+
+				long inicio = System.nanoTime();
+				long bytes = baixar(http, base, cenario);
+				double segundos = (System.nanoTime() - inicio) / 1e9;
+				medindo.set(false);
+				amostrador.join();
+
+				medidas.put(cenario.nome(), new Medida(RelatorioPerf.arredondar(segundos), RelatorioPerf.arredondar(bytes / 1_048_576.0),
+						Math.round(CLIENTES / segundos), RelatorioPerf.arredondar((pico.get() - ocioso) / 1_048_576.0)));
+			}
+
+			RelatorioPerf.gravar("exportacao", Map.of("clientes", CLIENTES, "banco", URL != null ? "postgresql" : "h2"), medidas);
+		}
+	}
+
+	// Lê a resposta inteira descartando os bytes; retorna o volume recebido (compactado, no caso do gzip)
+	private static long baixar(HttpClient http, String base, Cenario cenario) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + cenario.caminho())).GET();
+		if (cenario.gzip()) {
+			request.header("Accept-Encoding", "gzip");
+		}
+		HttpResponse<InputStream> resposta = http.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+		assertEquals(200, resposta.statusCode(), cenario.nome());
+		long bytes = 0;
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = resposta.body()) {
+			for (int lidos; (lidos = in.read(buffer)) > 0; ) {
+				bytes += lidos;
+			}
+		}
+		return bytes;
+	}
+}
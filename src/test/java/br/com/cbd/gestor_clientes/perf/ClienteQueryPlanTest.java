@@ -0,0 +1,173 @@
+package br.com.cbd.gestor_clientes.perf;
+
+import br.com.cbd.gestor_clientes.GestorClientesApplication;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
+import br.com.cbd.gestor_clientes.repository.ClienteRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Plano de execução e latência de cada consulta dos repositórios sobre 1M de clientes no PostgreSQL
+// (os índices parciais e de trigramas não existem no H2). Aplica as migrações no banco informado e
+// semeia a tabela se ela tiver menos linhas que perf.plano.clientes. Roda com:
+// mvn -Pperf verify -Dperf.postgres.url=jdbc:postgresql://localhost:5432/gestor-perf -Dperf.postgres.usuario=postgres -Dperf.postgres.senha=postgres
+@Tag("perf")
+class ClienteQueryPlanTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ClienteQueryPlanTest.class);
+
+	private static final String URL = System.getProperty("perf.postgres.url");
+	private static final long CLIENTES = Long.getLong("perf.plano.clientes", 1_000_000L);
+	private static final int ITERACOES = Integer.getInteger("perf.plano.iteracoes", 200);
+	// Listagens sem limite carregam centenas de milhares de clientes por chamada
+	private static final int ITERACOES_LISTAS = Integer.getInteger("perf.plano.iteracoes-listas", 3);
+	private static final long SEMEADURA_BLOCO = 100_000L;
+
+	private static final String COLUNAS = "id, nome, email, telefone, cpf, status, criado_em, atualizado_em, versao";
+
+	private record Consulta(String metodo, String sql, List<Object> parametros, int iteracoes, Runnable execucao) {
+	}
+
+	@Test
+	void planosELatenciaDasConsultas() {
+		assumeTrue(URL != null, "Informe -Dperf.postgres.url para rodar contra um PostgreSQL");
+
+		try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GestorClientesApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.datasource.url=" + URL,
+						"spring.datasource.username=" + System.getProperty("perf.postgres.usuario", "postgres"),
+						"spring.datasource.password=" + System.getProperty("perf.postgres.senha", "postgres"),
+						"management.tracing.enabled=false")
+				.run()) {
+
+			JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+			ClienteRepository repository = contexto.getBean(ClienteRepository.class);
+			ClienteJdbcRepository jdbcRepository = contexto.getBean(ClienteJdbcRepository.class);
+			TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+			transacao.setReadOnly(true);
+
+			semear(jdbc);
+
+			long meio = CLIENTES / 2;
+			List<String> cpfs = LongStream.range(0, 500).map(i -> i * (CLIENTES / 500)).mapToObj(ClienteQueryPlanTest::cpf).toList();
+			List<String> emails = LongStream.range(0, 500).map(i -> i * (CLIENTES / 500)).mapToObj(ClienteQueryPlanTest::email).toList();
+			long[] linhasLidas = new long[1];
+			List<Long> ids = LongStream.range(0, 100).map(i -> 1 + i * (CLIENTES / 100)).boxed().toList();
+
+			List<Consulta> consultas = List.of(
+					new Consulta("findProjectionById", "SELECT " + COLUNAS + " FROM cliente WHERE id = ?",
+							List.of(meio), ITERACOES, () -> repository.findProjectionById(meio, ClienteDTO.class)),
+					new Consulta("findByIdIn (100)", "SELECT " + COLUNAS + " FROM cliente WHERE id IN (" + marcadores(ids.size()) + ")",
+							new ArrayList<>(ids), ITERACOES, () -> repository.findByIdIn(ids, ClienteDTO.class)),
+					new Consulta("findCpfsExistentes (500)", "SELECT cpf FROM cliente WHERE cpf IN (" + marcadores(cpfs.size()) + ")",
+							new ArrayList<>(cpfs), ITERACOES, () -> repository.findCpfsExistentes(cpfs)),
+					new Consulta("findEmailsExistentes (500)", "SELECT email FROM cliente WHERE email IN (" + marcadores(emails.size()) + ")",
+							new ArrayList<>(emails), ITERACOES, () -> repository.findEmailsExistentes(emails)),
+					new Consulta("findByIdGreaterThanOrderByIdAsc (100)", "SELECT " + COLUNAS + " FROM cliente WHERE id > ? ORDER BY id LIMIT 100",
+							List.of(meio), ITERACOES, () -> repository.findByIdGreaterThanOrderByIdAsc(meio, Limit.of(100), ClienteDTO.class)),
+					new Consulta("findByStatusAndIdGreaterThanOrderByIdAsc ATIVO (100)", "SELECT " + COLUNAS + " FROM cliente WHERE status = ? AND id > ? ORDER BY id LIMIT 100",
+							List.of("ATIVO", meio), ITERACOES, () -> repository.findByStatusAndIdGreaterThanOrderByIdAsc(StatusCliente.ATIVO, meio, Limit.of(100), ClienteDTO.class)),
+					new Consulta("findByStatusAndIdGreaterThanOrderByIdAsc INATIVO (100)", "SELECT " + COLUNAS + " FROM cliente WHERE status = ? AND id > ? ORDER BY id LIMIT 100",
+							List.of("INATIVO", meio), ITERACOES, () -> repository.findByStatusAndIdGreaterThanOrderByIdAsc(StatusCliente.INATIVO, meio, Limit.of(100), ClienteDTO.class)),
+					new Consulta("findByStatusOrderByIdAsc PROSPECT", "SELECT " + COLUNAS + " FROM cliente WHERE status = ? ORDER BY id",
+							List.of("PROSPECT"), ITERACOES_LISTAS, () -> repository.findByStatusOrderByIdAsc(StatusCliente.PROSPECT, ClienteDTO.class)),
+					new Consulta("findAllByOrderByIdAsc", "SELECT " + COLUNAS + " FROM cliente ORDER BY id",
+							List.of(), ITERACOES_LISTAS, () -> repository.findAllByOrderByIdAsc(ClienteDTO.class)),
+					new Consulta("ClienteJdbcRepository.resumo", "SELECT count(*), max(atualizado_em) FROM cliente",
+							List.of(), ITERACOES_LISTAS, () -> jdbcRepository.resumo(null)),
+					new Consulta("ClienteJdbcRepository.resumo PROSPECT", "SELECT count(*), max(atualizado_em) FROM cliente WHERE status = ?",
+							List.of("PROSPECT"), ITERACOES, () -> jdbcRepository.resumo(StatusCliente.PROSPECT)),
+					new Consulta("ClienteJdbcRepository.forEach PROSPECT", "SELECT " + COLUNAS + " FROM cliente WHERE status = ? ORDER BY id",
+							List.of("PROSPECT"), ITERACOES_LISTAS,
+							() -> transacao.executeWithoutResult(s -> jdbcRepository.forEach(StatusCliente.PROSPECT, null, dto -> linhasLidas[0]++))));
+
+			List<String> linhas = new ArrayList<>();
+			linhas.add(String.format("%-55s %8s %10s %10s", "consulta (" + CLIENTES + " clientes)", "n", "p50 ms", "p99 ms"));
+			for (Consulta consulta : consultas) {
+				List<String> plano = jdbc.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + consulta.sql(), String.class,
+						consulta.parametros().toArray());
+				log.info("Plano de {}:\n{}", consulta.metodo(), String.join("\n", plano));
+
+				consulta.execucao().run(); // Aquecimento
+				long[] latencias = new long[consulta.iteracoes()];
+				for (int i = 0; i < latencias.length; i++) {
+					long inicio = System.nanoTime();
+					consulta.execucao().run();
+					latencias[i] = System.nanoTime() - inicio;
+				}
+				Arrays.sort(latencias);
+				linhas.add(String.format("%-55s %8d %10.2f %10.2f", consulta.metodo(), latencias.length,
+						percentil(latencias, 0.50), percentil(latencias, 0.99)));
+			}
+
+			log.info("Latências das consultas:\n{}", String.join("\n", linhas));
+		}
+	}
+
+	// Massa determinística direto no banco: 70% ATIVO, 20% PROSPECT, 10% INATIVO
+	private static void semear(JdbcTemplate jdbc) {
+		Long existentes = jdbc.queryForObject("SELECT count(*) FROM cliente", Long.class);
+		if (existentes != null && existentes >= CLIENTES) return;
+
+		jdbc.execute("TRUNCATE cliente");
+		for (long inicio = 1; inicio <= CLIENTES; inicio += SEMEADURA_BLOCO) {
+			long fim = Math.min(CLIENTES, inicio + SEMEADURA_BLOCO - 1);
+			jdbc.update("""
+					INSERT INTO cliente (id, nome, email, telefone, cpf, status, criado_em, atualizado_em)
+					SELECT g,
+					       (ARRAY['Ana','João','Maria','José','Antônio','Francisca','Carlos','Paula'])[1 + g % 8] || ' '
+					           || (ARRAY['Silva','Santos','Oliveira','Souza','Pereira','Lima','Gonçalves','Araújo'])[1 + (g / 8) % 8] || ' ' || g,
+					       'cliente' || g || '@plano.test',
+					       '+55 (11) 9' || lpad((g % 100000000)::text, 8, '0'),
+					       substr(lpad(g::text, 11, '0'), 1, 3) || '.' || substr(lpad(g::text, 11, '0'), 4, 3) || '.'
+					           || substr(lpad(g::text, 11, '0'), 7, 3) || '-' || substr(lpad(g::text, 11, '0'), 10, 2),
+					       CASE WHEN g % 10 < 7 THEN 'ATIVO' WHEN g % 10 < 9 THEN 'PROSPECT' ELSE 'INATIVO' END,
+					       now() - make_interval(secs => ? - g),
+					       now() - make_interval(secs => ? - g)
+					FROM generate_series(?::bigint, ?::bigint) g
+					""", CLIENTES, CLIENTES, inicio, fim);
+			log.info("Semeados {} de {} clientes", fim, CLIENTES);
+		}
+		jdbc.execute("SELECT setval('cliente_seq', (SELECT MAX(id) FROM cliente) + 50, false)");
+		jdbc.execute("ANALYZE cliente");
+	}
+
+	// Mesmos valores gerados pela semeadura para a linha g
+	private static String cpf(long g) {
+		String d = String.format("%011d", g);
+		return d.substring(0, 3) + "." + d.substring(3, 6) + "." + d.substring(6, 9) + "-" + d.substring(9);
+	}
+
+	private static String email(long g) {
+		return "cliente" + g + "@plano.test";
+	}
+
+	private static String marcadores(int quantidade) {
+		return String.join(", ", Collections.nCopies(quantidade, "?"));
+	}
+
+	private static double percentil(long[] ordenadas, double p) {
+		if (ordenadas.length == 0) return 0;
+		int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+		return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+	}
+}
@@ -0,0 +1,272 @@
+package br.com.cbd.gestor_clientes.perf;
+
+import br.com.cbd.gestor_clientes.CpfGenerator;
+import br.com.cbd.gestor_clientes.GestorClientesApplication;
+import br.com.cbd.gestor_clientes.search.InMemoryNgramClienteSearch;
+import br.com.cbd.gestor_clientes.stats.ClienteStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Carga HTTP em todas as rotas do ClienteController, uma rota por vez, sobre a massa determinística do
+// MassaClientes no H2 em modo PostgreSQL, com 10 mil, 100 mil e 1 milhão de clientes. Os sorteios (ids, páginas,
+// nomes) usam sementes fixas e cada trabalhador faz um número fixo de requisições: duas execuções no mesmo commit
+// fazem as mesmas chamadas. Rotas que leem a base inteira rodam sequencialmente, poucas vezes.
+// Resultado em target/perf/rotas.json. Roda com: mvn -Pperf verify -Dperf.rotas.clientes=10000,100000
+// (1 milhão no H2 em memória pede heap de alguns GB: -DargLine=-Xmx6g)
+@Tag("perf")
+class ClienteRotasLoadTest {
+
+	private static final List<Long> MASSAS = Arrays.stream(System.getProperty("perf.rotas.clientes", "10000,100000,1000000").split(","))
+			.map(String::trim).map(Long::valueOf).toList();
+	private static final int CONCORRENCIA = Integer.getInteger("perf.rotas.concorrencia", 16);
+	private static final int REQUISICOES = Integer.getInteger("perf.rotas.requisicoes", 200);
+	private static final int REQUISICOES_PESADAS = Integer.getInteger("perf.rotas.requisicoes-pesadas", 3);
+	private static final long SEMENTE = Long.getLong("perf.semente", 42);
+
+	private static final String[] TERMOS = {"Maria Souza", "Jose Silva", "Antonio Lima", "Paula Araujo", "Francisca Pereira"};
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@FunctionalInterface
+	private interface Chamada {
+		// true quando a resposta veio com o status esperado
+		boolean executar(Random random, int trabalhador) throws Exception;
+	}
+
+	private record Rota(String nome, boolean pesada, Chamada chamada) {
+	}
+
+	record Medida(long requisicoes, double porSegundo, double p50Ms, double p99Ms, double maximoMs, long erros) {
+	}
+
+	@Test
+	void cargaEmTodasAsRotas() throws Exception {
+		Map<String, Map<String, Medida>> resultados = new LinkedHashMap<>();
+		for (long clientes : MASSAS) {
+			resultados.put(String.valueOf(clientes), medir(clientes));
+		}
+
+		Map<String, Object> parametros = new LinkedHashMap<>();
+		parametros.put("massas", MASSAS);
+		parametros.put("concorrencia", CONCORRENCIA);
+		parametros.put("requisicoesPorTrabalhador", REQUISICOES);
+		parametros.put("requisicoesPesadas", REQUISICOES_PESADAS);
+		parametros.put("semente", SEMENTE);
+		RelatorioPerf.gravar("rotas", parametros, resultados);
+	}
+
+	private Map<String, Medida> medir(long clientes) throws Exception {
+		try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GestorClientesApplication.class)
+				.profiles("test")
+				.properties(
+						"server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:rotas-" + clientes + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE")
+				.run();
+			 ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+			JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+			try {
+				MassaClientes.semear(jdbc, clientes);
+				// Contadores e índice de nomes foram montados na subida, com a tabela vazia
+				contexto.getBean(ClienteStats.class).carregar();
+				contexto.getBeanProvider(InMemoryNgramClienteSearch.class).ifAvailable(InMemoryNgramClienteSearch::reconstruir);
+
+				String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/clientes";
+				HttpClient http = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build();
+
+				Map<String, Medida> porRota = new LinkedHashMap<>();
+				List<Rota> rotas = rotas(http, base, clientes);
+				for (int i = 0; i < rotas.size(); i++) {
+					Rota rota = rotas.get(i);
+					porRota.put(rota.nome(), executar(executor, rota, SEMENTE * 1_000 + i));
+				}
+				return porRota;
+			} finally {
+				// O banco em memória sobrevive ao fechamento do pool (DB_CLOSE_DELAY=-1) e ocuparia o heap das próximas massas
+				jdbc.execute("DROP ALL OBJECTS");
+			}
+		}
+	}
+
+	private Medida executar(ExecutorService executor, Rota rota, long semente) throws Exception {
+		int trabalhadores = rota.pesada() ? 1 : CONCORRENCIA;
+		int requisicoes = rota.pesada() ? REQUISICOES_PESADAS : REQUISICOES;
+
+		// Aquecimento com a mesma rota, fora da medição
+		Random aquecimento = new Random(-semente);
+		for (int i = 0; i < (rota.pesada() ? 1 : Math.min(REQUISICOES, 20)); i++) {
+			rota.chamada().executar(aquecimento, 0);
+		}
+
+		long inicio = System.nanoTime();
+		List<Future<long[]>> futuros = new ArrayList<>();
+		for (int t = 0; t < trabalhadores; t++) {
+			int trabalhador = t;
+			futuros.add(executor.submit(() -> {
+				// Latências em nanos; negativas = erro
+				Random random = new Random(semente * 100 + trabalhador);
+				long[] amostras = new long[requisicoes];
+				for (int i = 0; i < requisicoes; i++) {
+					long antes = System.nanoTime();
+					boolean ok;
+					try {
+						ok = rota.chamada().executar(random, trabalhador);
+					} catch (Exception e) {
+						ok = false;
+					}
+					long latencia = System.nanoTime() - antes;
+					amostras[i] = ok ? latencia : -latencia;
+				}
+				return amostras;
+			}));
+		}
+		long erros = 0;
+		List<Long> latencias = new ArrayList<>();
+		for (Future<long[]> futuro : futuros) {
+			for (long amostra : futuro.get()) {
+				if (amostra < 0) erros++;
+				latencias.add(Math.abs(amostra));
+			}
+		}
+		double segundos = (System.nanoTime() - inicio) / 1e9;
+
+		long[] ordenadas = latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+		return new Medida(ordenadas.length, RelatorioPerf.arredondar(ordenadas.length / segundos),
+				percentil(ordenadas, 0.50), percentil(ordenadas, 0.99), percentil(ordenadas, 1.0), erros);
+	}
+
+	// Leituras primeiro, escritas depois: as leituras medem a massa como foi semeada
+	private List<Rota> rotas(HttpClient http, String base, long clientes) throws Exception {
+		AtomicLong novos = new AtomicLong(clientes + 1); // CPFs e emails dos clientes criados pelas rotas de escrita
+		AtomicLong inativaveis = new AtomicLong(clientes + 1); // DELETE desce a partir do fim da massa
+		AtomicReference<String> job = new AtomicReference<>();
+		String cursor = URLEncoder.encode(mapper.readTree(http.send(HttpRequest.newBuilder(URI.create(base + "/changes?limit=1")).GET().build(),
+				HttpResponse.BodyHandlers.ofString()).body()).get("cursor").asText(), StandardCharsets.UTF_8);
+		String lote = "[" + String.join(",", LongStream.range(0, 1_000)
+				.mapToObj(i -> '"' + CpfGenerator.gerar(i * (clientes / 1_000) + 1) + '"').toList()) + "]";
+
+		return List.of(
+				new Rota("GET /clientes/{id}", false, (r, t) -> get(http, base + "/" + id(r, clientes), 200)),
+				new Rota("GET /clientes/{id} (If-None-Match)", false, (r, t) -> enviar(http,
+						HttpRequest.newBuilder(URI.create(base + "/" + id(r, clientes))).header("If-None-Match", "\"0\"").GET(), 304)),
+				new Rota("GET /clientes?afterId&limit=100", false, (r, t) -> get(http, base + "?limit=100&afterId=" + r.nextLong(clientes), 200)),
+				new Rota("GET /clientes?status=PROSPECT&afterId&limit=100", false,
+						(r, t) -> get(http, base + "?status=PROSPECT&limit=100&afterId=" + r.nextLong(clientes), 200)),
+				new Rota("GET /clientes?nome&limit=20", false,
+						(r, t) -> get(http, base + "?limit=20&nome=" + URLEncoder.encode(TERMOS[r.nextInt(TERMOS.length)], StandardCharsets.UTF_8), 200)),
+				new Rota("GET /clientes/stats", false, (r, t) -> get(http, base + "/stats", 200)),
+				new Rota("GET /clientes/changes?limit=100", false, (r, t) -> get(http, base + "/changes?limit=100&since=" + cursor, 200)),
+				new Rota("GET /clientes/changes/stream (primeiro evento)", false, (r, t) -> primeiroEvento(http, base + "/changes/stream?since=" + cursor)),
+				new Rota("GET /clientes/validate-cpf", false, (r, t) -> get(http, base + "/validate-cpf?cpf=" + CpfGenerator.gerar(id(r, clientes)), 200)),
+				new Rota("POST /clientes/validate-cpf/batch (1000)", false, (r, t) -> enviar(http,
+						HttpRequest.newBuilder(URI.create(base + "/validate-cpf/batch")).header("Content-Type", "application/json")
+								.POST(HttpRequest.BodyPublishers.ofString(lote)), 200)),
+				new Rota("GET /clientes (lista completa)", true, (r, t) -> get(http, base, 200)),
+				new Rota("GET /clientes/stream", true, (r, t) -> get(http, base + "/stream", 200)),
+				new Rota("GET /clientes/export (gzip)", true, (r, t) -> enviar(http,
+						HttpRequest.newBuilder(URI.create(base + "/export")).header("Accept-Encoding", "gzip").GET(), 200)),
+				new Rota("POST /clientes", false, (r, t) -> {
+					long n = novos.getAndIncrement();
+					return enviar(http, json(base, "POST", Map.of("nome", MassaClientes.nome(n), "email", MassaClientes.email(n),
+							"telefone", MassaClientes.telefone(n), "cpf", CpfGenerator.gerar(n), "status", "PROSPECT")), 201);
+				}),
+				new Rota("POST /clientes/import (CSV, 100)", false, (r, t) -> {
+					StringBuilder csv = new StringBuilder("nome,email,telefone,cpf,status\n");
+					for (int i = 0; i < 100; i++) {
+						long n = novos.getAndIncrement();
+						csv.append(MassaClientes.nome(n)).append(',').append(MassaClientes.email(n)).append(',')
+								.append(MassaClientes.telefone(n)).append(',').append(CpfGenerator.gerar(n)).append(",ATIVO\n");
+					}
+					return enviar(http, HttpRequest.newBuilder(URI.create(base + "/import")).header("Content-Type", "text/csv")
+							.POST(HttpRequest.BodyPublishers.ofString(csv.toString())), 200);
+				}),
+				// Cada trabalhador altera só ids da sua classe (id % CONCORRENCIA): sem conflito de versão entre eles
+				new Rota("PUT /clientes/{id}", false, (r, t) -> {
+					long id = r.nextLong(clientes / CONCORRENCIA) * CONCORRENCIA + t + 1;
+					return enviar(http, json(base + "/" + id, "PUT", Map.of("nome", MassaClientes.nome(id), "email", MassaClientes.email(id),
+							"telefone", MassaClientes.telefone(id), "status", r.nextBoolean() ? "ATIVO" : "PROSPECT")), 200);
+				}),
+				new Rota("PATCH /clientes/status (10 ids)", false, (r, t) -> {
+					long primeiro = 1 + r.nextLong(clientes - 10);
+					return enviar(http, json(base + "/status", "PATCH", Map.of("status", r.nextBoolean() ? "ATIVO" : "PROSPECT",
+							"ids", LongStream.range(primeiro, primeiro + 10).boxed().toList())), 200);
+				}),
+				// O primeiro chamado (aquecimento, sem concorrência) dispara um lote de verdade: 2000 ids, mais que um bloco
+				new Rota("GET /clientes/status/jobs/{id}", false, (r, t) -> {
+					if (job.get() == null) {
+						HttpResponse<String> aceito = http.send(json(base + "/status", "PATCH", Map.of("status", "ATIVO",
+								"ids", LongStream.rangeClosed(1, 2_000).boxed().toList())).build(), HttpResponse.BodyHandlers.ofString());
+						assertEquals(202, aceito.statusCode(), aceito.body());
+						job.set(mapper.readTree(aceito.body()).get("id").asText());
+					}
+					return get(http, base + "/status/jobs/" + job.get(), 200);
+				}),
+				// Só ids que nasceram ATIVO ou PROSPECT: nenhuma rota inativa clientes, então todos ainda podem ser inativados
+				new Rota("DELETE /clientes/{id}", false, (r, t) -> {
+					long id;
+					do {
+						id = inativaveis.decrementAndGet();
+					} while (MassaClientes.status(id).equals("INATIVO"));
+					return enviar(http, HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE(), 204);
+				}));
+	}
+
+	private static long id(Random random, long clientes) {
+		return 1 + random.nextLong(clientes);
+	}
+
+	private HttpRequest.Builder json(String url, String metodo, Map<String, ?> corpo) throws Exception {
+		return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json")
+				.method(metodo, HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(corpo)));
+	}
+
+	private static boolean get(HttpClient http, String url, int esperado) throws Exception {
+		return enviar(http, HttpRequest.newBuilder(URI.create(url)).GET(), esperado);
+	}
+
+	// Lê a resposta inteira (as rotas de streaming só terminam no último byte) e confere o status
+	private static boolean enviar(HttpClient http, HttpRequest.Builder request, int esperado) throws Exception {
+		return http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() == esperado;
+	}
+
+	// SSE não termina: mede até o primeiro evento repetido depois do cursor e fecha a conexão
+	private static boolean primeiroEvento(HttpClient http, String url) throws Exception {
+		HttpResponse<Stream<String>> resposta = http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofLines());
+		try (Stream<String> linhas = resposta.body()) {
+			return resposta.statusCode() == 200 && linhas.anyMatch(linha -> linha.startsWith("id:"));
+		}
+	}
+
+	private static double percentil(long[] ordenadas, double p) {
+		if (ordenadas.length == 0) return 0;
+		int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+		return RelatorioPerf.ms(ordenadas[Math.max(indice, 0)]);
+	}
+}
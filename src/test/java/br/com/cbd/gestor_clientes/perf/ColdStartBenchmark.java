@@ -0,0 +1,155 @@
+package br.com.cbd.gestor_clientes.perf;
+
+import br.com.cbd.gestor_clientes.GestorClientesApplication;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Inicialização a frio do jar empacotado, cada medida numa JVM nova, em quatro variantes: padrão, CDS (arquivo de
+// classes da JVM gravado num treino com -XX:ArchiveClassesAtExit e -Dspring.context.exit=onRefresh), Spring AOT
+// (-Dspring.aot.enabled=true, com as classes geradas pelo process-aot do perfil perf) e AOT + CDS. O jar é extraído
+// com o jarmode tools do Spring Boot, porque o CDS só arquiva classes de jars comuns. Mede o tempo de parede até o
+// log "Started" e o "process running for" informado pela própria JVM; banco H2 em memória, como no perfil de testes.
+// Roda no mvn -Pperf verify depois do empacotamento (-Dperf.inicializacao.repeticoes=5); resultado em
+// target/perf/inicializacao.json
+public final class ColdStartBenchmark {
+
+	private static final int REPETICOES = Integer.getInteger("perf.inicializacao.repeticoes", 5);
+	private static final Pattern INICIADO = Pattern.compile("Started \\w+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+
+	// As condições por propriedade ficam fixas no process-aot: estes valores são os mesmos passados a ele no pom.xml
+	private static final List<String> ARGUMENTOS = List.of(
+			"--server.port=0",
+			"--spring.datasource.url=jdbc:h2:mem:inicializacao;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+			"--spring.datasource.username=sa",
+			"--spring.datasource.password=",
+			"--spring.datasource.driver-class-name=org.h2.Driver",
+			"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+			"--gestor.busca.modo=memoria",
+			"--management.tracing.enabled=false");
+
+	private record Variante(String nome, boolean aot, boolean cds) {
+	}
+
+	record Medida(int repeticoes, double medianaMs, double minimoMs, double maximoMs, double medianaProcessoMs, double medianaContextoMs) {
+	}
+
+	private ColdStartBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length != 1) {
+			throw new IllegalArgumentException("Uso: ColdStartBenchmark <jar da aplicação>");
+		}
+		Path jar = Path.of(args[0]);
+		Path trabalho = Path.of(System.getProperty("perf.relatorios", "target/perf")).resolve("inicializacao");
+		Path extraido = extrair(jar, trabalho.resolve("app"));
+		Path h2 = Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		String classpath = extraido + File.pathSeparator + h2;
+
+		Map<String, Medida> resultados = new LinkedHashMap<>();
+		for (Variante variante : List.of(
+				new Variante("padrao", false, false),
+				new Variante("cds", false, true),
+				new Variante("aot", true, false),
+				new Variante("aot-cds", true, true))) {
+			List<String> jvm = new ArrayList<>();
+			if (variante.aot()) {
+				jvm.add("-Dspring.aot.enabled=true");
+			}
+			if (variante.cds()) {
+				Path arquivo = trabalho.resolve(variante.nome() + ".jsa");
+				Files.deleteIfExists(arquivo);
+				List<String> treino = new ArrayList<>(jvm);
+				treino.add("-XX:ArchiveClassesAtExit=" + arquivo);
+				treino.add("-Dspring.context.exit=onRefresh");
+				executar(classpath, treino, false);
+				if (!Files.exists(arquivo)) {
+					throw new IllegalStateException("O treino não gravou o arquivo CDS " + arquivo);
+				}
+				jvm.add("-XX:SharedArchiveFile=" + arquivo);
+			}
+
+			executar(classpath, jvm, true); // Aquecimento do cache de disco do sistema operacional
+			long[] paredes = new long[REPETICOES];
+			double[] processos = new double[REPETICOES];
+			double[] contextos = new double[REPETICOES];
+			for (int i = 0; i < REPETICOES; i++) {
+				long inicio = System.nanoTime();
+				Matcher iniciado = executar(classpath, jvm, true);
+				paredes[i] = System.nanoTime() - inicio;
+				contextos[i] = Double.parseDouble(iniciado.group(1)) * 1_000;
+				processos[i] = Double.parseDouble(iniciado.group(2)) * 1_000;
+			}
+			Arrays.sort(paredes);
+			Arrays.sort(processos);
+			Arrays.sort(contextos);
+			resultados.put(variante.nome(), new Medida(REPETICOES, RelatorioPerf.ms(paredes[REPETICOES / 2]),
+					RelatorioPerf.ms(paredes[0]), RelatorioPerf.ms(paredes[REPETICOES - 1]),
+					RelatorioPerf.arredondar(processos[REPETICOES / 2]), RelatorioPerf.arredondar(contextos[REPETICOES / 2])));
+		}
+
+		RelatorioPerf.gravar("inicializacao", Map.of("repeticoes", REPETICOES, "jar", jar.getFileName().toString()), resultados);
+	}
+
+	// java -Djarmode=tools -jar app.jar extract: o jar da aplicação com o Class-Path apontando para lib/
+	private static Path extrair(Path jar, Path destino) throws Exception {
+		Process processo = new ProcessBuilder(java(), "-Djarmode=tools", "-jar", jar.toString(),
+				"extract", "--destination", destino.toString(), "--force")
+				.redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+		if (!processo.waitFor(2, TimeUnit.MINUTES) || processo.exitValue() != 0) {
+			throw new IllegalStateException("Falha ao extrair " + jar);
+		}
+		return destino.resolve(jar.getFileName());
+	}
+
+	// Sobe a aplicação e espera o log "Started"; com a saída do contexto no refresh (treino do CDS), espera o fim do processo
+	private static Matcher executar(String classpath, List<String> jvm, boolean esperarInicio) throws Exception {
+		List<String> comando = new ArrayList<>();
+		comando.add(java());
+		comando.addAll(jvm);
+		comando.add("-cp");
+		comando.add(classpath);
+		comando.add(GestorClientesApplication.class.getName());
+		comando.addAll(ARGUMENTOS);
+
+		Process processo = new ProcessBuilder(comando).redirectErrorStream(true).start();
+		Deque<String> ultimas = new ArrayDeque<>();
+		try (BufferedReader saida = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+			for (String linha; (linha = saida.readLine()) != null; ) {
+				Matcher iniciado = INICIADO.matcher(linha);
+				if (esperarInicio && iniciado.find()) {
+					return iniciado;
+				}
+				ultimas.addLast(linha);
+				if (ultimas.size() > 20) ultimas.removeFirst();
+			}
+			if (esperarInicio) {
+				throw new IllegalStateException("A aplicação terminou sem iniciar:\n" + String.join("\n", ultimas));
+			}
+			processo.waitFor();
+			return null;
+		} finally {
+			processo.destroy();
+			processo.waitFor(30, TimeUnit.SECONDS);
+		}
+	}
+
+	private static String java() {
+		return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+	}
+}
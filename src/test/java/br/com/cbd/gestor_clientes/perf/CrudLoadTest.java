@@ -0,0 +1,162 @@
+package br.com.cbd.gestor_clientes.perf;
+
+import br.com.cbd.gestor_clientes.CpfGenerator;
+import br.com.cbd.gestor_clientes.GestorClientesApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Carga HTTP nos endpoints CRUD comparando threads de plataforma e threads virtuais no Tomcat.
+// Resultado em target/perf/crud.json. Roda com: mvn -Pperf verify -Dperf.concorrencia=400 -Dperf.duracao-segundos=30
+@Tag("perf")
+class CrudLoadTest {
+
+	private static final int CLIENTES_INICIAIS = Integer.getInteger("perf.clientes", 2_000);
+	private static final int CONCORRENCIA = Integer.getInteger("perf.concorrencia", 200);
+	private static final Duration DURACAO = Duration.ofSeconds(Long.getLong("perf.duracao-segundos", 20));
+
+	private static final List<String> OPERACOES = List.of("GET /clientes/{id}", "GET /clientes?limit=50", "POST /clientes", "PUT /clientes/{id}");
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void comparaThreadsDePlataformaEVirtuais() throws Exception {
+		Map<String, Map<String, Estatisticas>> resultados = new LinkedHashMap<>();
+		resultados.put("plataforma", executar(false));
+		resultados.put("virtual", executar(true));
+
+		RelatorioPerf.gravar("crud", Map.of("clientesIniciais", CLIENTES_INICIAIS, "concorrencia", CONCORRENCIA,
+				"duracaoSegundos", DURACAO.toSeconds()), resultados);
+	}
+
+	record Estatisticas(long operacoes, double porSegundo, double p50Ms, double p99Ms, long erros) {
+	}
+
+	private Map<String, Estatisticas> executar(boolean virtual) throws Exception {
+		String modo = virtual ? "virtual" : "plataforma";
+		try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GestorClientesApplication.class)
+				.profiles("test")
+				.properties(
+						"server.port=0",
+						"spring.threads.virtual.enabled=" + virtual,
+						"spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE")
+				.run();
+			 ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+			String url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/clientes";
+			HttpClient http = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build();
+
+			Map<Long, String> emails = new ConcurrentHashMap<>();
+			AtomicLong sequencia = new AtomicLong();
+			for (int i = 0; i < CLIENTES_INICIAIS; i++) {
+				criar(http, url, sequencia.getAndIncrement(), emails);
+			}
+			Long[] ids = emails.keySet().toArray(Long[]::new);
+
+			long fim = System.nanoTime() + DURACAO.toNanos();
+			List<Future<List<long[]>>> trabalhadores = new ArrayList<>();
+			for (int t = 0; t < CONCORRENCIA; t++) {
+				trabalhadores.add(executor.submit(() -> {
+					// Cada amostra: {operação, latência em nanos, 1 se erro}
+					List<long[]> amostras = new ArrayList<>();
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					while (System.nanoTime() < fim) {
+						int sorteio = random.nextInt(100);
+						int operacao = sorteio < 50 ? 0 : sorteio < 70 ? 1 : sorteio < 85 ? 2 : 3;
+						Long id = ids[random.nextInt(ids.length)];
+						long inicio = System.nanoTime();
+						boolean ok;
+						try {
+							ok = switch (operacao) {
+								case 0 -> get(http, url + "/" + id);
+								case 1 -> get(http, url + "?limit=50&afterId=" + random.nextLong(id));
+								case 2 -> criar(http, url, sequencia.getAndIncrement(), emails);
+								default -> atualizar(http, url, id, emails.get(id));
+							};
+						} catch (Exception e) {
+							ok = false;
+						}
+						amostras.add(new long[]{operacao, System.nanoTime() - inicio, ok ? 0 : 1});
+					}
+					return amostras;
+				}));
+			}
+
+			List<List<Long>> latencias = new ArrayList<>();
+			long[] erros = new long[OPERACOES.size()];
+			OPERACOES.forEach(o -> latencias.add(new ArrayList<>()));
+			for (Future<List<long[]>> trabalhador : trabalhadores) {
+				for (long[] amostra : trabalhador.get()) {
+					latencias.get((int) amostra[0]).add(amostra[1]);
+					erros[(int) amostra[0]] += amostra[2];
+				}
+			}
+
+			Map<String, Estatisticas> resultado = new LinkedHashMap<>();
+			for (int i = 0; i < OPERACOES.size(); i++) {
+				long[] ordenadas = latencias.get(i).stream().mapToLong(Long::longValue).sorted().toArray();
+				resultado.put(OPERACOES.get(i), new Estatisticas(ordenadas.length,
+						RelatorioPerf.arredondar(ordenadas.length / (double) DURACAO.toSeconds()),
+						RelatorioPerf.arredondar(percentil(ordenadas, 0.50)), RelatorioPerf.arredondar(percentil(ordenadas, 0.99)), erros[i]));
+			}
+			return resultado;
+		}
+	}
+
+	private boolean get(HttpClient http, String url) throws Exception {
+		HttpResponse<byte[]> resposta = http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+		return resposta.statusCode() == 200;
+	}
+
+	private boolean criar(HttpClient http, String url, long n, Map<Long, String> emails) throws Exception {
+		String email = "cliente" + n + "@carga.test";
+		String corpo = mapper.writeValueAsString(Map.of(
+				"nome", "Cliente de Carga " + n,
+				"email", email,
+				"cpf", CpfGenerator.gerar(n),
+				"status", "ATIVO"));
+		HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(URI.create(url))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(corpo)).build(), HttpResponse.BodyHandlers.ofString());
+		if (resposta.statusCode() != 201) return false;
+		JsonNode criado = mapper.readTree(resposta.body());
+		emails.put(criado.get("id").asLong(), email);
+		return true;
+	}
+
+	private boolean atualizar(HttpClient http, String url, Long id, String email) throws Exception {
+		String corpo = mapper.writeValueAsString(Map.of(
+				"nome", "Cliente Atualizado " + id,
+				"email", email,
+				"status", ThreadLocalRandom.current().nextBoolean() ? "ATIVO" : "PROSPECT"));
+		HttpResponse<byte[]> resposta = http.send(HttpRequest.newBuilder(URI.create(url + "/" + id))
+				.header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString(corpo)).build(), HttpResponse.BodyHandlers.ofByteArray());
+		return resposta.statusCode() == 200;
+	}
+
+	private static double percentil(long[] ordenadas, double p) {
+		if (ordenadas.length == 0) return 0;
+		int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+		return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+	}
+}
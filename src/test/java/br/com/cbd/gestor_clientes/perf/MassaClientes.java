@@ -0,0 +1,65 @@
+package br.com.cbd.gestor_clientes.perf;
+
+import br.com.cbd.gestor_clientes.CpfGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Massa determinística para os testes de desempenho: o cliente n tem sempre o mesmo nome, email, telefone, CPF
+// (CpfGenerator.gerar(n)), status e datas, de modo que execuções em commits diferentes medem os mesmos dados.
+// 70% ATIVO, 20% PROSPECT, 10% INATIVO; criados a cada 30 segundos a partir de 01/01/2024.
+public final class MassaClientes {
+
+	public static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	private static final String[] NOMES = {"Ana", "João", "Maria", "José", "Antônio", "Francisca", "Carlos", "Paula"};
+	private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Pereira", "Lima", "Gonçalves", "Araújo"};
+	private static final int BLOCO = 10_000;
+
+	private MassaClientes() {
+	}
+
+	// Troca o conteúdo da tabela pelos clientes 1..quantidade; se ela já tem exatamente essa quantidade, não faz nada
+	public static void semear(JdbcTemplate jdbc, long quantidade) {
+		if (quantidade < 1 || quantidade >= CpfGenerator.MAXIMO) {
+			throw new IllegalArgumentException("quantidade deve estar entre 1 e " + (CpfGenerator.MAXIMO - 1));
+		}
+		Long existentes = jdbc.queryForObject("SELECT count(*) FROM cliente", Long.class);
+		if (existentes != null && existentes == quantidade) return;
+
+		jdbc.update("DELETE FROM cliente");
+		for (long inicio = 1; inicio <= quantidade; inicio += BLOCO) {
+			List<Object[]> bloco = new ArrayList<>(BLOCO);
+			for (long id = inicio; id < inicio + BLOCO && id <= quantidade; id++) {
+				Timestamp criadoEm = Timestamp.valueOf(criadoEm(id));
+				bloco.add(new Object[]{id, nome(id), email(id), telefone(id), CpfGenerator.gerar(id), status(id), criadoEm, criadoEm});
+			}
+			jdbc.batchUpdate("INSERT INTO cliente (id, nome, email, telefone, cpf, status, criado_em, atualizado_em, versao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", bloco);
+		}
+		// Ids novos da API começam depois da massa (a sequence aloca em blocos de 50)
+		jdbc.execute("ALTER SEQUENCE cliente_seq RESTART WITH " + (quantidade + 50));
+	}
+
+	public static String nome(long id) {
+		return NOMES[(int) (id % NOMES.length)] + " " + SOBRENOMES[(int) (id / NOMES.length % SOBRENOMES.length)] + " " + id;
+	}
+
+	public static String email(long id) {
+		return "cliente" + id + "@massa.test";
+	}
+
+	public static String telefone(long id) {
+		return String.format("+55 (11) 9%04d-%04d", id / 10_000 % 10_000, id % 10_000);
+	}
+
+	public static String status(long id) {
+		return id % 10 < 7 ? "ATIVO" : id % 10 < 9 ? "PROSPECT" : "INATIVO";
+	}
+
+	public static LocalDateTime criadoEm(long id) {
+		return INICIO.plusSeconds(id * 30);
+	}
+}
@@ -0,0 +1,77 @@
+package br.com.cbd.gestor_clientes.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Relatório JSON de um teste de desempenho em target/perf/<nome>.json (ou -Dperf.relatorios=...): commit, JVM,
+// máquina, parâmetros e resultados, indentado e com as chaves em ordem alfabética para comparar execuções de commits
+// diferentes com diff
+public final class RelatorioPerf {
+
+	private static final Logger log = LoggerFactory.getLogger(RelatorioPerf.class);
+
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.enable(SerializationFeature.INDENT_OUTPUT)
+			.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+	private RelatorioPerf() {
+	}
+
+	public static Path gravar(String nome, Map<String, ?> parametros, Object resultados) {
+		Map<String, Object> relatorio = new LinkedHashMap<>();
+		relatorio.put("relatorio", nome);
+		relatorio.put("commit", commit());
+		relatorio.put("java", Runtime.version().toString());
+		relatorio.put("sistema", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+		relatorio.put("processadores", Runtime.getRuntime().availableProcessors());
+		relatorio.put("heapMaximoMb", Runtime.getRuntime().maxMemory() / 1_048_576);
+		relatorio.put("parametros", parametros);
+		relatorio.put("resultados", resultados);
+
+		Path arquivo = Path.of(System.getProperty("perf.relatorios", "target/perf")).resolve(nome + ".json");
+		try {
+			Files.createDirectories(arquivo.getParent());
+			Files.writeString(arquivo, MAPPER.writeValueAsString(relatorio) + System.lineSeparator(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		log.info("Relatório de desempenho gravado em {}", arquivo.toAbsolutePath());
+		return arquivo;
+	}
+
+	// Milissegundos com duas casas: diferenças abaixo disso são ruído e só poluem o diff
+	public static double ms(double nanos) {
+		return Math.round(nanos / 10_000.0) / 100.0;
+	}
+
+	public static double arredondar(double valor) {
+		return Math.round(valor * 100) / 100.0;
+	}
+
+	// -Dperf.commit=... ou o HEAD do repositório; "desconhecido" fora de um checkout
+	private static String commit() {
+		String informado = System.getProperty("perf.commit");
+		if (informado != null && !informado.isBlank()) return informado;
+		try {
+			Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+			String saida = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+			if (git.waitFor(10, TimeUnit.SECONDS) && git.exitValue() == 0 && !saida.isEmpty()) return saida;
+		} catch (IOException e) {
+			// Sem git no PATH
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "desconhecido";
+	}
+}
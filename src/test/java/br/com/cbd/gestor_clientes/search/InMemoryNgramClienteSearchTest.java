@@ -0,0 +1,49 @@
+package br.com.cbd.gestor_clientes.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryNgramClienteSearchTest {
+
+	private InMemoryNgramClienteSearch search;
+
+	@BeforeEach
+	void setUp() {
+		search = new InMemoryNgramClienteSearch();
+		search.indexar(1L, "João Silva", "ATIVO");
+		search.indexar(2L, "Joana Souza", "ATIVO");
+		search.indexar(3L, "Maria Conceição", "INATIVO");
+		search.indexar(4L, "Joao Pedro Silva", "PROSPECT");
+	}
+
+	@Test
+	void ignoraAcentosEMaiusculas() {
+		assertEquals(List.of(3L), search.buscar("CONCEICAO", null, 10));
+		assertTrue(search.buscar("joao", null, 10).containsAll(List.of(1L, 4L)));
+	}
+
+	@Test
+	void ordenaPorSimilaridade() {
+		List<Long> ids = search.buscar("João Silva", null, 10);
+		assertEquals(1L, ids.get(0));
+		assertTrue(ids.contains(4L));
+	}
+
+	@Test
+	void aplicaStatusELimite() {
+		assertEquals(List.of(4L), search.buscar("joao", "PROSPECT", 10));
+		assertEquals(1, search.buscar("silva", null, 1).size());
+	}
+
+	@Test
+	void reindexaAoAlterarNome() {
+		search.indexar(3L, "Maria Aparecida", "INATIVO");
+		assertTrue(search.buscar("conceicao", null, 10).isEmpty());
+		assertEquals(List.of(3L), search.buscar("aparecida", null, 10));
+	}
+}
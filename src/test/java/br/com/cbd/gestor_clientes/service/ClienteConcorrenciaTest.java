@@ -0,0 +1,160 @@
+package br.com.cbd.gestor_clientes.service;
+
+import br.com.cbd.gestor_clientes.ClientesDeTeste;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
+import br.com.cbd.gestor_clientes.dto.UpdateClienteDTO;
+import br.com.cbd.gestor_clientes.exception.ClienteValidacaoException;
+import br.com.cbd.gestor_clientes.exception.ClienteVersaoDivergenteException;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import br.com.cbd.gestor_clientes.repository.ClienteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Gravações simultâneas no mesmo cliente e com o mesmo CPF/email: a unicidade e a versão são garantidas pelo
+// banco (UNIQUE e UPDATE ... WHERE versao = ?), sem a janela que existia entre a checagem e a gravação
+@SpringBootTest
+@ActiveProfiles("test")
+class ClienteConcorrenciaTest {
+
+	private static final int THREADS = 16;
+	private static final int ATUALIZACOES_POR_THREAD = 20;
+
+	@Autowired
+	private ClienteService service;
+
+	@Autowired
+	private ClienteRepository repository;
+
+	@Test
+	void cadastrosSimultaneosComOMesmoCpfGravamUmSo() throws Exception {
+		String cpf = ClientesDeTeste.cpf();
+		List<MotivoRejeicao> rejeicoes = cadastrarAoMesmoTempo(i -> novo(cpf, ClientesDeTeste.email("mesmo-cpf")));
+
+		assertEquals(THREADS - 1, rejeicoes.size());
+		rejeicoes.forEach(motivo -> assertEquals(MotivoRejeicao.CPF_DUPLICADO, motivo));
+	}
+
+	@Test
+	void cadastrosSimultaneosComOMesmoEmailGravamUmSo() throws Exception {
+		String email = ClientesDeTeste.email("mesmo-email");
+		List<MotivoRejeicao> rejeicoes = cadastrarAoMesmoTempo(i -> novo(ClientesDeTeste.cpf(), email));
+
+		assertEquals(THREADS - 1, rejeicoes.size());
+		rejeicoes.forEach(motivo -> assertEquals(MotivoRejeicao.EMAIL_DUPLICADO, motivo));
+	}
+
+	@Test
+	void atualizacoesConcorrentesComIfMatchNaoSePerdem() throws Exception {
+		ClienteDTO criado = service.create(ClientesDeTeste.novo("Cliente Concorrente", "ATIVO"));
+		AtomicInteger tentativas = new AtomicInteger();
+		AtomicInteger conflitos = new AtomicInteger();
+
+		List<Integer> aceitas = executarAoMesmoTempo(i -> {
+			int gravadas = 0;
+			while (gravadas < ATUALIZACOES_POR_THREAD) {
+				tentativas.incrementAndGet();
+				// Lê a versão do banco, como um cliente da API faria com o ETag do GET
+				ClienteDTO atual = repository.findProjectionById(criado.id(), ClienteDTO.class).orElseThrow();
+				UpdateClienteDTO dto = new UpdateClienteDTO();
+				dto.setNome("Cliente " + i + "-" + gravadas);
+				dto.setEmail(atual.email());
+				dto.setStatus("ATIVO");
+				try {
+					service.update(criado.id(), dto, atual.versao());
+					gravadas++;
+				} catch (ClienteVersaoDivergenteException | ConcurrencyFailureException e) {
+					conflitos.incrementAndGet();
+				}
+			}
+			return gravadas;
+		});
+
+		ClienteDTO fim = repository.findProjectionById(criado.id(), ClienteDTO.class).orElseThrow();
+		int totalAceitas = aceitas.stream().mapToInt(Integer::intValue).sum();
+		assertEquals(THREADS * ATUALIZACOES_POR_THREAD, totalAceitas);
+		// Cada atualização aceita incrementou a versão exatamente uma vez: nenhuma sobrescreveu outra
+		assertEquals(criado.versao() + totalAceitas, fim.versao());
+		// Toda tentativa terminou aceita ou recusada por conflito, sem outro desfecho
+		assertEquals(tentativas.get(), totalAceitas + conflitos.get());
+	}
+
+	@Test
+	void ifMatchComVersaoAntigaNaoAltera() {
+		ClienteDTO criado = service.create(ClientesDeTeste.novo("Cliente Concorrente", "ATIVO"));
+		UpdateClienteDTO dto = new UpdateClienteDTO();
+		dto.setNome("Nome Novo");
+		dto.setEmail(criado.email());
+		dto.setStatus("PROSPECT");
+		ClienteDTO atualizado = service.update(criado.id(), dto, criado.versao());
+
+		assertEquals(criado.versao() + 1, atualizado.versao());
+		assertThrows(ClienteVersaoDivergenteException.class, () -> service.update(criado.id(), dto, criado.versao()));
+		assertThrows(ClienteVersaoDivergenteException.class, () -> service.delete(criado.id(), criado.versao()));
+	}
+
+	private interface Tarefa<T> {
+		T executar(int indice) throws Exception;
+	}
+
+	private List<MotivoRejeicao> cadastrarAoMesmoTempo(Tarefa<CreateClienteDTO> dados) throws Exception {
+		List<MotivoRejeicao> rejeicoes = new ArrayList<>();
+		for (MotivoRejeicao motivo : executarAoMesmoTempo(i -> {
+			try {
+				service.create(dados.executar(i));
+				return null;
+			} catch (ClienteValidacaoException e) {
+				return e.getMotivos().get(0);
+			}
+		})) {
+			if (motivo != null) rejeicoes.add(motivo);
+		}
+		return rejeicoes;
+	}
+
+	// Libera todas as threads juntas para maximizar a sobreposição entre as transações
+	private <T> List<T> executarAoMesmoTempo(Tarefa<T> tarefa) throws Exception {
+		CountDownLatch largada = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+			List<Future<T>> futuros = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int indice = t;
+				Callable<T> chamada = () -> {
+					largada.await();
+					return tarefa.executar(indice);
+				};
+				futuros.add(executor.submit(chamada));
+			}
+			largada.countDown();
+			List<T> resultados = new ArrayList<>();
+			for (Future<T> futuro : futuros) {
+				resultados.add(futuro.get());
+			}
+			return resultados;
+		}
+	}
+
+	private static CreateClienteDTO novo(String cpf, String email) {
+		CreateClienteDTO dto = new CreateClienteDTO();
+		dto.setNome("Cliente Concorrente");
+		dto.setEmail(email);
+		dto.setCpf(cpf);
+		dto.setStatus("ATIVO");
+		return dto;
+	}
+}
@@ -0,0 +1,102 @@
+package br.com.cbd.gestor_clientes.service;
+
+import br.com.cbd.gestor_clientes.ClientesDeTeste;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.dto.ImportacaoErroDTO;
+import br.com.cbd.gestor_clientes.dto.ImportacaoResultadoDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.repository.FiltroClientes;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClienteExportServiceTest {
+
+	@Autowired
+	private ClienteExportService exportService;
+
+	@Autowired
+	private ClienteImportService importService;
+
+	@Autowired
+	private ClienteService service;
+
+	@Test
+	void exportaCsvCompactadoComOsFiltros() throws IOException {
+		String nome = ClientesDeTeste.nome("Exportado \"Aspas\", Virgula");
+		ClienteDTO prospect = criar(nome, "PROSPECT");
+		criar(nome, "ATIVO");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FiltroClientes filtro = FiltroClientes.porDias(StatusCliente.PROSPECT, nome, LocalDate.now(), LocalDate.now(), null, LocalDate.now());
+		long exportados = exportService.exportarCsv(filtro, true, out);
+
+		String csv;
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		List<String> linhas = csv.lines().toList();
+		assertEquals(1, exportados);
+		assertEquals(2, linhas.size());
+		assertEquals(ClienteExportService.CABECALHO_CSV, linhas.get(0));
+
+		String inicio = prospect.id() + ",\"" + nome.replace("\"", "\"\"") + "\"," + prospect.email() + ",," + prospect.cpf() + ",PROSPECT,";
+		assertTrue(linhas.get(1).startsWith(inicio), linhas.get(1));
+		String[] fim = linhas.get(1).substring(inicio.length()).split(",");
+		assertEquals(3, fim.length);
+		// Datas ISO-8601 com a precisão da coluna (microssegundos)
+		assertTrue(Duration.between(prospect.criadoEm(), LocalDateTime.parse(fim[0])).abs().toMillis() < 1);
+		assertTrue(Duration.between(prospect.atualizadoEm(), LocalDateTime.parse(fim[1])).abs().toMillis() < 1);
+		assertEquals(String.valueOf(prospect.versao()), fim[2]);
+	}
+
+	@Test
+	void semGzipEscreveCsvPuro() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long exportados = exportService.exportarCsv(FiltroClientes.porDias(null, "nenhum cliente com este nome", null, null, null, null), false, out);
+
+		assertEquals(0, exportados);
+		assertEquals(ClienteExportService.CABECALHO_CSV + "\n", out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void csvExportadoComQuebraDeLinhaVoltaInteiroNaImportacao() throws IOException {
+		String nome = ClientesDeTeste.nome("Exportado\nEm Duas Linhas");
+		ClienteDTO cliente = criar(nome, "ATIVO");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportarCsv(FiltroClientes.porDias(null, nome, null, null, null, null), false, out);
+		String csv = out.toString(StandardCharsets.UTF_8) + "0,Sem CPF,sem.cpf@exportacao.test,,,ATIVO,,,0\n";
+
+		ImportacaoResultadoDTO resultado = importService.importarCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		// O cliente exportado é um registro só (linhas 2 e 3), lido com o CPF certo; o seguinte começa na linha 4
+		assertEquals(2, resultado.getTotal());
+		assertEquals(0, resultado.getImportados());
+		assertEquals(List.of(2L, 4L), resultado.getErros().stream().map(ImportacaoErroDTO::getLinha).sorted().toList());
+		assertEquals("CPF já cadastrado", resultado.getErros().stream()
+				.filter(erro -> erro.getLinha() == 2).findFirst().orElseThrow().getMensagem());
+		assertTrue(csv.contains(cliente.cpf()));
+	}
+
+	private ClienteDTO criar(String nome, String status) {
+		return service.create(ClientesDeTeste.novo(nome, status));
+	}
+}
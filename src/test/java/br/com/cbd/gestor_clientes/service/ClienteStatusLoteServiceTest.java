@@ -0,0 +1,136 @@
+package br.com.cbd.gestor_clientes.service;
+
+import br.com.cbd.gestor_clientes.ClientesDeTeste;
+import br.com.cbd.gestor_clientes.dto.AlteracaoStatusLoteDTO;
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.dto.FiltroClientesDTO;
+import br.com.cbd.gestor_clientes.dto.ResultadoStatusLoteDTO;
+import br.com.cbd.gestor_clientes.dto.ResultadoStatusLoteDTO.Situacao;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Blocos de 2 clientes para que poucas linhas já passem por vários blocos e pelo processamento em segundo plano
+@SpringBootTest(properties = "gestor.status-lote.tamanho-lote=2")
+@ActiveProfiles("test")
+class ClienteStatusLoteServiceTest {
+
+	@Autowired
+	private ClienteStatusLoteService statusLoteService;
+
+	@Autowired
+	private ClienteService service;
+
+	@Test
+	void poucosIdsSaoAlteradosNaPropriaChamada() {
+		ClienteDTO ativo = criar("Cliente Lote Pequeno", "ATIVO");
+		ClienteDTO inativo = criar("Cliente Lote Pequeno", "INATIVO");
+
+		ResultadoStatusLoteDTO resultado = statusLoteService.alterar(porIds("INATIVO", List.of(ativo.id(), inativo.id())));
+
+		assertEquals(Situacao.CONCLUIDO, resultado.situacao());
+		assertNull(resultado.id());
+		assertEquals(1, resultado.alterados());
+		assertEquals(List.of(inativo.id()), resultado.idsIgnorados());
+		ClienteDTO alterado = service.findById(ativo.id());
+		assertEquals(StatusCliente.INATIVO, alterado.status());
+		assertEquals(ativo.versao() + 1, alterado.versao());
+		assertTrue(alterado.atualizadoEm().isAfter(ativo.atualizadoEm()));
+		assertEquals(inativo.versao(), service.findById(inativo.id()).versao());
+	}
+
+	@Test
+	void muitosIdsViramProcessamentoComProgresso() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(criar("Cliente Lote Grande", i == 0 ? "INATIVO" : "PROSPECT").id());
+		}
+		ids.add(Long.MAX_VALUE);
+
+		ResultadoStatusLoteDTO iniciado = statusLoteService.alterar(porIds("INATIVO", ids));
+		assertEquals(Situacao.EM_ANDAMENTO, iniciado.situacao());
+		assertEquals(6, iniciado.total());
+
+		ResultadoStatusLoteDTO resultado = aguardar(iniciado.id());
+		assertEquals(Situacao.CONCLUIDO, resultado.situacao());
+		assertEquals(6, resultado.processados());
+		assertEquals(4, resultado.alterados());
+		assertEquals(List.of(ids.get(0)), resultado.idsIgnorados());
+		assertEquals(List.of(Long.MAX_VALUE), resultado.idsNaoEncontrados());
+		assertNotNull(resultado.concluidoEm());
+		ids.subList(0, 5).forEach(id -> assertEquals(StatusCliente.INATIVO, service.findById(id).status()));
+	}
+
+	@Test
+	void filtroAlteraSoOsClientesSelecionados() throws Exception {
+		String nome = ClientesDeTeste.nome("Cliente Filtro");
+		List<Long> prospects = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			prospects.add(criar(nome, "PROSPECT").id());
+		}
+		ClienteDTO ativo = criar(nome, "ATIVO");
+
+		FiltroClientesDTO filtro = new FiltroClientesDTO();
+		filtro.setStatus("PROSPECT");
+		filtro.setNome(nome.toUpperCase());
+		filtro.setCriadoDe(LocalDate.now());
+		filtro.setCriadoAte(LocalDate.now());
+		AlteracaoStatusLoteDTO dto = new AlteracaoStatusLoteDTO();
+		dto.setStatus("ATIVO");
+		dto.setFiltro(filtro);
+
+		ResultadoStatusLoteDTO iniciado = statusLoteService.alterar(dto);
+		assertEquals(3, iniciado.total());
+		ResultadoStatusLoteDTO resultado = iniciado.situacao() == Situacao.EM_ANDAMENTO ? aguardar(iniciado.id()) : iniciado;
+
+		assertEquals(3, resultado.alterados());
+		prospects.forEach(id -> assertEquals(StatusCliente.ATIVO, service.findById(id).status()));
+		assertEquals(ativo.versao(), service.findById(ativo.id()).versao());
+	}
+
+	@Test
+	void pedidoInvalidoEhRejeitado() {
+		assertThrows(IllegalArgumentException.class, () -> statusLoteService.alterar(porIds("EXCLUIDO", List.of(1L))));
+
+		AlteracaoStatusLoteDTO semSelecao = new AlteracaoStatusLoteDTO();
+		semSelecao.setStatus("INATIVO");
+		assertThrows(IllegalArgumentException.class, () -> statusLoteService.alterar(semSelecao));
+
+		AlteracaoStatusLoteDTO filtroVazio = new AlteracaoStatusLoteDTO();
+		filtroVazio.setStatus("INATIVO");
+		filtroVazio.setFiltro(new FiltroClientesDTO());
+		assertThrows(IllegalArgumentException.class, () -> statusLoteService.alterar(filtroVazio));
+	}
+
+	private ResultadoStatusLoteDTO aguardar(String id) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			ResultadoStatusLoteDTO resultado = statusLoteService.consultar(id).orElseThrow();
+			if (resultado.situacao() != Situacao.EM_ANDAMENTO) return resultado;
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Processamento " + id + " não terminou");
+	}
+
+	private static AlteracaoStatusLoteDTO porIds(String status, List<Long> ids) {
+		AlteracaoStatusLoteDTO dto = new AlteracaoStatusLoteDTO();
+		dto.setStatus(status);
+		dto.setIds(ids);
+		return dto;
+	}
+
+	private ClienteDTO criar(String nome, String status) {
+		return service.create(ClientesDeTeste.novo(nome, status));
+	}
+}
@@ -0,0 +1,121 @@
+package br.com.cbd.gestor_clientes.stats;
+
+import br.com.cbd.gestor_clientes.dto.ClienteDTO;
+import br.com.cbd.gestor_clientes.dto.EstatisticasClientesDTO;
+import br.com.cbd.gestor_clientes.entity.StatusCliente;
+import br.com.cbd.gestor_clientes.feed.ClienteAlteradoEvent;
+import br.com.cbd.gestor_clientes.feed.TipoAlteracao;
+import br.com.cbd.gestor_clientes.repository.ClienteJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClienteStatsTest {
+
+	private static final LocalDate HOJE = LocalDate.now();
+
+	private ClienteStats stats;
+	private ClienteJdbcRepository jdbcRepository;
+
+	@BeforeEach
+	void setUp() {
+		stats = new ClienteStats();
+		jdbcRepository = mock(ClienteJdbcRepository.class);
+		ReflectionTestUtils.setField(stats, "jdbcRepository", jdbcRepository);
+		ReflectionTestUtils.setField(stats, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(stats, "diasMantidos", 90);
+		when(jdbcRepository.contarPorStatus()).thenReturn(Map.of(StatusCliente.ATIVO, 10L, StatusCliente.PROSPECT, 2L));
+		when(jdbcRepository.contarCriadosPorDia(any())).thenReturn(Map.of(HOJE.minusDays(1), 3L));
+		stats.carregar();
+	}
+
+	@Test
+	void carregaDoBanco() {
+		EstatisticasClientesDTO estatisticas = stats.estatisticas(2);
+
+		assertEquals(12, estatisticas.total());
+		assertEquals(Map.of(StatusCliente.ATIVO, 10L, StatusCliente.INATIVO, 0L, StatusCliente.PROSPECT, 2L), estatisticas.porStatus());
+		assertEquals(2, estatisticas.criadosPorDia().size());
+		assertEquals(3, estatisticas.criadosPorDia().get(0).criados());
+		assertEquals(0, estatisticas.criadosPorDia().get(1).criados());
+	}
+
+	@Test
+	void aplicaTransicoesDeStatus() {
+		stats.registrar(ClienteAlteradoEvent.criado(cliente(StatusCliente.PROSPECT)));
+		stats.registrar(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, cliente(StatusCliente.ATIVO), StatusCliente.PROSPECT));
+		stats.registrar(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, cliente(StatusCliente.ATIVO), StatusCliente.ATIVO));
+		stats.registrar(new ClienteAlteradoEvent(TipoAlteracao.INATIVADO, cliente(StatusCliente.INATIVO), StatusCliente.ATIVO));
+
+		EstatisticasClientesDTO estatisticas = stats.estatisticas(1);
+		assertEquals(13, estatisticas.total());
+		assertEquals(10, estatisticas.porStatus().get(StatusCliente.ATIVO));
+		assertEquals(1, estatisticas.porStatus().get(StatusCliente.INATIVO));
+		assertEquals(2, estatisticas.porStatus().get(StatusCliente.PROSPECT));
+		assertEquals(1, estatisticas.criadosPorDia().get(0).criados());
+	}
+
+	@Test
+	void reconciliacaoCorrigeADiferenca() {
+		when(jdbcRepository.contarPorStatus()).thenReturn(Map.of(StatusCliente.ATIVO, 20L));
+		stats.reconciliar();
+		assertEquals(20, stats.estatisticas(1).total());
+	}
+
+	@Test
+	void gravacaoDuranteAContagemQueOSnapshotNaoVeEntraPorCima() {
+		when(jdbcRepository.contarPorStatus()).thenAnswer(invocacao -> {
+			// Confirmada depois do snapshot: a contagem não a inclui
+			stats.registrar(ClienteAlteradoEvent.criado(cliente(StatusCliente.ATIVO)));
+			return Map.of(StatusCliente.ATIVO, 20L);
+		});
+		when(jdbcRepository.versoes(anyList())).thenReturn(Map.of());
+		stats.reconciliar();
+
+		EstatisticasClientesDTO estatisticas = stats.estatisticas(1);
+		assertEquals(21, estatisticas.porStatus().get(StatusCliente.ATIVO));
+		assertEquals(1, estatisticas.criadosPorDia().get(0).criados());
+	}
+
+	@Test
+	void gravacaoDuranteAContagemQueOSnapshotJaVeNaoContaEmDobro() {
+		when(jdbcRepository.contarPorStatus()).thenAnswer(invocacao -> {
+			// Confirmada antes do snapshot, evento aplicado durante a contagem: a contagem já a inclui
+			stats.registrar(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, cliente(StatusCliente.INATIVO), StatusCliente.ATIVO));
+			return Map.of(StatusCliente.ATIVO, 9L, StatusCliente.INATIVO, 1L);
+		});
+		when(jdbcRepository.versoes(anyList())).thenReturn(Map.of(1L, 0L));
+		stats.reconciliar();
+
+		EstatisticasClientesDTO estatisticas = stats.estatisticas(1);
+		assertEquals(9, estatisticas.porStatus().get(StatusCliente.ATIVO));
+		assertEquals(1, estatisticas.porStatus().get(StatusCliente.INATIVO));
+
+		// Fora da contagem, o evento volta a valer só para os contadores
+		stats.registrar(new ClienteAlteradoEvent(TipoAlteracao.ATUALIZADO, cliente(StatusCliente.ATIVO), StatusCliente.INATIVO));
+		assertEquals(10, stats.estatisticas(1).porStatus().get(StatusCliente.ATIVO));
+	}
+
+	@Test
+	void rejeitaDiasForaDoIntervalo() {
+		assertThrows(IllegalArgumentException.class, () -> stats.estatisticas(0));
+		assertThrows(IllegalArgumentException.class, () -> stats.estatisticas(91));
+	}
+
+	private static ClienteDTO cliente(StatusCliente status) {
+		LocalDateTime agora = LocalDateTime.now();
+		return new ClienteDTO(1L, "Cliente", "cliente@teste.com", null, "111.444.777-35", status, agora, agora, 0L);
+	}
+}
@@ -0,0 +1,29 @@
+package br.com.cbd.gestor_clientes.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ClienteNormalizerTest {
+
+	@Test
+	void formataCpfComOnzeDigitos() {
+		assertEquals("111.444.777-35", ClienteNormalizer.cpf("11144477735"));
+		assertEquals("111.444.777-35", ClienteNormalizer.cpf("111.444.777-35"));
+		assertEquals("111.444.777-35", ClienteNormalizer.cpf(" 111 444 777 35 "));
+	}
+
+	@Test
+	void mantemCpfSemOnzeDigitos() {
+		assertNull(ClienteNormalizer.cpf(null));
+		assertEquals("1114447773", ClienteNormalizer.cpf("1114447773"));
+		assertEquals("111444777350", ClienteNormalizer.cpf("111444777350"));
+	}
+
+	@Test
+	void normalizaEmail() {
+		assertNull(ClienteNormalizer.email(null));
+		assertEquals("joao@exemplo.com", ClienteNormalizer.email("  Joao@Exemplo.COM "));
+	}
+}
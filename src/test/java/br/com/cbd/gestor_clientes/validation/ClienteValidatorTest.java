@@ -0,0 +1,81 @@
+package br.com.cbd.gestor_clientes.validation;
+
+import br.com.cbd.gestor_clientes.dto.CreateClienteDTO;
+import br.com.cbd.gestor_clientes.dto.UpdateClienteDTO;
+import br.com.cbd.gestor_clientes.exception.MotivoRejeicao;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClienteValidatorTest {
+
+	private final ClienteValidator validator = new ClienteValidator();
+
+	@Test
+	void aceitaTelefonesNoFormatoDdiDddNumero() {
+		assertTrue(TelefoneValidator.isValido(null));
+		assertTrue(TelefoneValidator.isValido("  "));
+		assertTrue(TelefoneValidator.isValido("+55 (11) 98765-4321"));
+		assertTrue(TelefoneValidator.isValido("+55(11)98765-4321"));
+		assertTrue(TelefoneValidator.isValido("+55 11 8765-4321"));
+		assertTrue(TelefoneValidator.isValido("+5511987654321"));
+	}
+
+	@Test
+	void rejeitaTelefonesForaDoFormato() {
+		assertFalse(TelefoneValidator.isValido("11 98765-4321"));
+		assertFalse(TelefoneValidator.isValido("+55 (11)  98765-4321"));
+		assertFalse(TelefoneValidator.isValido("+55 (11) 987-4321"));
+		assertFalse(TelefoneValidator.isValido("+55 (11) 98765-432"));
+		assertFalse(TelefoneValidator.isValido("+55 (11) 9876543"));
+		assertFalse(TelefoneValidator.isValido("+55 (11) 98765-4321 ramal 2"));
+	}
+
+	@Test
+	void validaEstruturaDoEmail() {
+		assertTrue(EmailValidator.isValido("maria@teste.com.br"));
+		assertTrue(EmailValidator.isValido(" Maria@Teste.com "));
+		assertFalse(EmailValidator.isValido(null));
+		assertFalse(EmailValidator.isValido("maria"));
+		assertFalse(EmailValidator.isValido("@teste.com"));
+		assertFalse(EmailValidator.isValido("maria@"));
+		assertFalse(EmailValidator.isValido("maria@@teste.com"));
+		assertFalse(EmailValidator.isValido("maria@teste..com"));
+		assertFalse(EmailValidator.isValido("maria silva@teste.com"));
+	}
+
+	@Test
+	void aceitaClienteValido() {
+		assertTrue(validator.validar(novo("Maria Silva", "maria@teste.com", "111.444.777-35", "+55 (11) 98765-4321", "prospect")).isEmpty());
+	}
+
+	@Test
+	void coletaTodosOsMotivosNaOrdemDasRegras() {
+		assertEquals(List.of(MotivoRejeicao.NOME_CURTO, MotivoRejeicao.EMAIL_INVALIDO, MotivoRejeicao.CPF_INVALIDO,
+						MotivoRejeicao.TELEFONE_INVALIDO, MotivoRejeicao.STATUS_INVALIDO),
+				validator.validar(novo("  ", "maria", "111.444.777-36", "98765-4321", "BLOQUEADO")));
+	}
+
+	@Test
+	void atualizacaoNaoValidaCpf() {
+		UpdateClienteDTO dto = new UpdateClienteDTO();
+		dto.setNome("Ma");
+		dto.setEmail("maria@teste.com");
+		dto.setStatus(null);
+		assertEquals(List.of(MotivoRejeicao.NOME_CURTO, MotivoRejeicao.STATUS_INVALIDO), validator.validar(dto));
+	}
+
+	private static CreateClienteDTO novo(String nome, String email, String cpf, String telefone, String status) {
+		CreateClienteDTO dto = new CreateClienteDTO();
+		dto.setNome(nome);
+		dto.setEmail(email);
+		dto.setCpf(cpf);
+		dto.setTelefone(telefone);
+		dto.setStatus(status);
+		return dto;
+	}
+}
@@ -0,0 +1,26 @@
+package br.com.cbd.gestor_clientes.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CpfValidatorTest {
+
+	@Test
+	void aceitaCpfValidoComOuSemPontuacao() {
+		assertTrue(CpfValidator.isValido("111.444.777-35"));
+		assertTrue(CpfValidator.isValido("11144477735"));
+		assertTrue(CpfValidator.isValido(new StringBuilder(" 111 444 777 35 ")));
+	}
+
+	@Test
+	void rejeitaCpfInvalido() {
+		assertFalse(CpfValidator.isValido(null));
+		assertFalse(CpfValidator.isValido(""));
+		assertFalse(CpfValidator.isValido("111.444.777-36"));
+		assertFalse(CpfValidator.isValido("111.111.111-11"));
+		assertFalse(CpfValidator.isValido("1114447773"));
+		assertFalse(CpfValidator.isValido("111444777350"));
+	}
+}